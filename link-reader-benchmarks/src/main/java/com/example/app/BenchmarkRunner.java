@@ -0,0 +1,35 @@
+package com.example.app;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the link reader benchmarks with the GC profiler and writes the results as JSON,
+ * so a new reader can be compared against a saved baseline run.
+ * <p>
+ * Usage: {@code BenchmarkRunner [benchmark regex]}, e.g. {@code BenchmarkRunner "Csv"}.
+ * System properties: {@code records} (comma-separated record counts, default all sizes) and
+ * {@code jmh.result} (result file, default {@code target/jmh-result.json}).
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "com\\.example\\.app\\..*Benchmark\\.";
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("jmh.result", "target/jmh-result.json"));
+
+        String records = System.getProperty("records");
+        if (records != null) {
+            options.param("records", records.split(","));
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.app;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.SplittableRandom;
+
+/**
+ * Generates the link files read by the benchmarks. The content depends only on the format and the
+ * record count (fixed random seed), so every run and every machine measures the same bytes.
+ * Files are written once to {@code target/fixtures/} (or the directory in the {@code fixtures.dir}
+ * system property) and reused by later runs.
+ */
+public final class LinkFixtures {
+
+    /** Bump when the generated content changes, so stale fixtures are not reused */
+    private static final int VERSION = 1;
+    private static final long SEED = 0x5EEDL;
+
+    private static final String[] TITLES = {
+        "JUnit 5", "Maven", "GitHub", "Selenium", "Stack Overflow", "Wikipedia", "Cucumber", "Example Domain"
+    };
+    private static final String[] PATHS = {
+        "", "/", "/docs", "/docs/guide/getting-started", "/search?q=java+link+reader&page=2", "/a/b/c/d/e/f"
+    };
+
+    private LinkFixtures() {
+    }
+
+    /**
+     * @param format "txt", "csv" or "json"
+     * @param records Number of links in the file
+     * @return Path of the fixture, generated if it does not exist yet
+     * @throws IOException If the file cannot be written
+     */
+    public static synchronized String fixture(String format, int records) throws IOException {
+        Path dir = Paths.get(System.getProperty("fixtures.dir", "target/fixtures"));
+        Path file = dir.resolve("links-" + records + "-v" + VERSION + "." + format);
+        if (!Files.exists(file)) {
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, "fixture", ".tmp");
+            try (Writer out = new BufferedWriter(Files.newBufferedWriter(temp, StandardCharsets.UTF_8), 1 << 16)) {
+                write(format, records, out);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return file.toString();
+    }
+
+    private static void write(String format, int records, Writer out) throws IOException {
+        SplittableRandom random = new SplittableRandom(SEED);
+        switch (format) {
+            case "txt":
+                for (int i = 0; i < records; i++) {
+                    // Drawn but not written, so all formats hold the same URLs
+                    title(random);
+                    out.write(url(i, random));
+                    out.write('\n');
+                }
+                break;
+            case "csv":
+                out.write("name,url,expectedTitle\n");
+                for (int i = 0; i < records; i++) {
+                    String title = title(random);
+                    // Every tenth name needs quoting, as in hand-edited catalogs
+                    out.write(i % 10 == 0 ? "\"Site " + i + ", mirror\"" : "Site " + i);
+                    out.write(',');
+                    out.write(url(i, random));
+                    out.write(',');
+                    out.write(title);
+                    out.write('\n');
+                }
+                break;
+            case "json":
+                out.write("[\n");
+                for (int i = 0; i < records; i++) {
+                    String title = title(random);
+                    out.write("  {\"name\": \"Site " + i + "\", \"url\": \"" + url(i, random)
+                              + "\", \"expectedTitle\": \"" + title + "\"}");
+                    out.write(i + 1 < records ? ",\n" : "\n");
+                }
+                out.write("]\n");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown fixture format: " + format);
+        }
+    }
+
+    private static String url(int index, SplittableRandom random) {
+        String scheme = random.nextInt(4) == 0 ? "http" : "https";
+        return scheme + "://www.site-" + index + ".example.com" + PATHS[random.nextInt(PATHS.length)];
+    }
+
+    private static String title(SplittableRandom random) {
+        return TITLES[random.nextInt(TITLES.length)];
+    }
+
+    /**
+     * Generates fixtures up front, e.g. {@code LinkFixtures 1000 1000000}
+     * @param args Record counts; all benchmark sizes if empty
+     */
+    public static void main(String[] args) throws IOException {
+        String[] sizes = args.length > 0 ? args : LinkReaderBenchmark.RECORD_COUNTS;
+        for (String size : sizes) {
+            for (String format : new String[] {"txt", "csv", "json"}) {
+                System.out.println("Fixture ready: " + fixture(format, Integer.parseInt(size)));
+            }
+        }
+    }
+}
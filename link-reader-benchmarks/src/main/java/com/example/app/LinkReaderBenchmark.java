@@ -0,0 +1,124 @@
+package com.example.app;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput of reading a whole link file with every reader: one operation is one complete file,
+ * so records per second is the score multiplied by the record count.
+ * Run with the GC profiler (BenchmarkRunner adds it) to see the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// 10M LinkData objects need about 2.5 GB of heap
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class LinkReaderBenchmark {
+
+    /** Record counts of the generated fixtures, also used by LinkFixtures.main */
+    static final String[] RECORD_COUNTS = {"1000", "100000", "1000000", "10000000"};
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int records;
+
+    private String txtFile;
+    private String csvFile;
+    private String jsonFile;
+
+    private final TxtLinkReader txtReader = new TxtLinkReader();
+    private final CsvLinkReader csvReader = new CsvLinkReader();
+    private final JsonLinkReader jsonReader = new JsonLinkReader();
+    private final JsonLinkDataReader jsonDataReader = new JsonLinkDataReader();
+    private final SimpleFileReader simpleFileReader = new SimpleFileReader();
+
+    @Setup(Level.Trial)
+    public void generateFixtures() throws IOException {
+        txtFile = LinkFixtures.fixture("txt", records);
+        csvFile = LinkFixtures.fixture("csv", records);
+        jsonFile = LinkFixtures.fixture("json", records);
+    }
+
+    @Benchmark
+    public List<String> txtReadLinks() throws IOException {
+        return txtReader.readLinks(txtFile);
+    }
+
+    @Benchmark
+    public void txtStreamLinks(Blackhole blackhole) throws IOException {
+        try (Stream<String> links = txtReader.streamLinks(txtFile)) {
+            links.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public List<String> csvReadLinks() throws IOException {
+        return csvReader.readLinks(csvFile);
+    }
+
+    @Benchmark
+    public List<String> csvReadLinksParallel() throws IOException {
+        return csvReader.readLinksParallel(csvFile);
+    }
+
+    @Benchmark
+    public List<String> jsonReadLinks() throws IOException {
+        return jsonReader.readLinks(jsonFile);
+    }
+
+    @Benchmark
+    public List<LinkData> jsonReadLinkData() throws IOException {
+        return jsonDataReader.readLinkData(jsonFile);
+    }
+
+    @Benchmark
+    public void jsonStreamLinkData(Blackhole blackhole) throws IOException {
+        try (Stream<LinkData> links = jsonDataReader.streamLinkData(jsonFile)) {
+            links.forEach(blackhole::consume);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Benchmark
+    public List<String> simpleFileReaderTxt() throws IOException {
+        return simpleFileReader.readLinks(txtFile);
+    }
+
+    @Benchmark
+    public List<String> simpleFileReaderCsv() throws IOException {
+        return simpleFileReader.readLinks(csvFile);
+    }
+
+    @Benchmark
+    public List<String> simpleFileReaderJson() throws IOException {
+        return simpleFileReader.readLinks(jsonFile);
+    }
+
+    @Benchmark
+    public int simpleFileReaderPipelinedTxt(Blackhole blackhole) throws IOException {
+        return simpleFileReader.readLinks(txtFile, blackhole::consume);
+    }
+
+    @Benchmark
+    public int simpleFileReaderPipelinedCsv(Blackhole blackhole) throws IOException {
+        return simpleFileReader.readLinks(csvFile, blackhole::consume);
+    }
+}
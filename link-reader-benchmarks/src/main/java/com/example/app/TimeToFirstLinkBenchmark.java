@@ -0,0 +1,112 @@
+package com.example.app;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency from opening a link file until the first link is in hand, which is when the browser
+ * work can start. Streaming readers stop after the first record; list-returning readers have to
+ * read the whole file, so their score grows with the file size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 50)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class TimeToFirstLinkBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int records;
+
+    private String txtFile;
+    private String csvFile;
+    private String jsonFile;
+
+    private final TxtLinkReader txtReader = new TxtLinkReader();
+    private final CsvLinkReader csvReader = new CsvLinkReader();
+    private final JsonLinkReader jsonReader = new JsonLinkReader();
+    private final JsonLinkDataReader jsonDataReader = new JsonLinkDataReader();
+    private final SimpleFileReader simpleFileReader = new SimpleFileReader();
+
+    @Setup(Level.Trial)
+    public void generateFixtures() throws IOException {
+        txtFile = LinkFixtures.fixture("txt", records);
+        csvFile = LinkFixtures.fixture("csv", records);
+        jsonFile = LinkFixtures.fixture("json", records);
+    }
+
+    @Benchmark
+    public String txtStreamLinks() throws IOException {
+        try (Stream<String> links = txtReader.streamLinks(txtFile)) {
+            return links.findFirst().orElse(null);
+        }
+    }
+
+    @Benchmark
+    public String csvStreamLinks() throws IOException {
+        try (Stream<String> links = csvReader.streamLinks(csvFile)) {
+            return links.findFirst().orElse(null);
+        }
+    }
+
+    @Benchmark
+    public String jsonStreamLinks() throws IOException {
+        try (Stream<String> links = jsonReader.streamLinks(jsonFile)) {
+            return links.findFirst().orElse(null);
+        }
+    }
+
+    @Benchmark
+    public LinkData jsonStreamLinkData() throws IOException {
+        try (Stream<LinkData> links = jsonDataReader.streamLinkData(jsonFile)) {
+            return links.findFirst().orElse(null);
+        }
+    }
+
+    /**
+     * Baseline: the list is only available once the whole file has been read
+     */
+    @Benchmark
+    public String simpleFileReaderTxt() throws IOException {
+        List<String> links = simpleFileReader.readLinks(txtFile);
+        return links.isEmpty() ? null : links.get(0);
+    }
+
+    @Benchmark
+    public String simpleFileReaderPipelinedTxt() throws IOException {
+        return firstPipelinedLink(txtFile);
+    }
+
+    @Benchmark
+    public String simpleFileReaderPipelinedCsv() throws IOException {
+        return firstPipelinedLink(csvFile);
+    }
+
+    /**
+     * Takes the first link from the pipelined reader, which stops its I/O and parse stages
+     * before returning
+     */
+    private String firstPipelinedLink(String filePath) throws IOException {
+        String[] first = new String[1];
+        simpleFileReader.readLinksUntil(filePath, link -> {
+            first[0] = link;
+            return false;
+        });
+        return first[0];
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.app;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Line reader working on raw bytes for ASCII-compatible charsets. Lines are split on the
+ * newline byte and each line becomes a String in one step, so pure-ASCII lines skip both the
+ * CharsetDecoder and the intermediate char buffers of a BufferedReader.
+ */
+final class ByteLineReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final Charset charset;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+    private boolean eof = false;
+
+    /**
+     * @param in Byte input, closed with the reader
+     * @param charset ASCII-compatible charset of the content
+     */
+    ByteLineReader(InputStream in, Charset charset) {
+        this.in = in;
+        this.charset = LinkCharsets.requireAsciiCompatible(charset);
+    }
+
+    /**
+     * @param trim Whether to strip leading and trailing whitespace (same rule as String.trim())
+     *             on the bytes, before the String is built
+     * @return Next line without its line terminator, or null at the end of the input
+     * @throws IOException If reading fails
+     */
+    String readLine(boolean trim) throws IOException {
+        int scanned = position;
+        while (true) {
+            for (int i = scanned; i < limit; i++) {
+                if (buffer[i] == '\n') {
+                    String line = decode(position, i, trim);
+                    position = i + 1;
+                    return line;
+                }
+            }
+            if (eof) {
+                if (position == limit) {
+                    return null;
+                }
+                String line = decode(position, limit, trim);
+                position = limit;
+                return line;
+            }
+            scanned = limit - position;
+            fill();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private String decode(int start, int end, boolean trim) {
+        if (end > start && buffer[end - 1] == '\r') {
+            end--;
+        }
+        if (trim) {
+            while (start < end && (buffer[start] & 0xFF) <= ' ') {
+                start++;
+            }
+            while (end > start && (buffer[end - 1] & 0xFF) <= ' ') {
+                end--;
+            }
+        }
+        return LinkCharsets.decode(buffer, start, end - start, charset);
+    }
+
+    /**
+     * Moves the unread bytes to the front (growing the buffer for very long lines) and reads more
+     */
+    private void fill() throws IOException {
+        int remaining = limit - position;
+        if (remaining == buffer.length) {
+            byte[] grown = new byte[buffer.length * 2];
+            System.arraycopy(buffer, position, grown, 0, remaining);
+            buffer = grown;
+        } else {
+            System.arraycopy(buffer, position, buffer, 0, remaining);
+        }
+        position = 0;
+        limit = remaining;
+        int n = in.read(buffer, limit, buffer.length - limit);
+        if (n < 0) {
+            eof = true;
+        } else {
+            limit += n;
+        }
+    }
+}
@@ -1,24 +1,51 @@
 package com.example.app;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Reads the URL column of a CSV file with CsvTokenizer: quoted fields may contain commas and
+ * line breaks, and a header row naming the "url" column selects it. Files without such a header
+ * use the second column.
+ */
 public class CsvLinkReader implements LinkReader {
+
+    private static final String URL_COLUMN = "url";
+    private static final int DEFAULT_URL_COLUMN = 1;
+
+    private final Charset charset;
+
+    public CsvLinkReader() {
+        this(LinkCharsets.DEFAULT_CHARSET);
+    }
+
+    /**
+     * @param charset Charset of the link files (UTF-8 by default)
+     */
+    public CsvLinkReader(Charset charset) {
+        this.charset = charset;
+    }
+
     @Override
     public List<String> readLinks(String filePath) throws IOException {
         List<String> links = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",");
-                if (parts.length >= 2) {
-                    links.add(parts[1].trim());
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(Paths.get(filePath)), charset))) {
+            CsvTokenizer tokenizer = new CsvTokenizer(reader);
+            int column = tokenizer.selectColumn(URL_COLUMN, DEFAULT_URL_COLUMN);
+            while (tokenizer.nextRecord(column)) {
+                String url = tokenizer.selected();
+                if (url != null && !url.trim().isEmpty()) {
+                    links.add(url.trim());
                 }
             }
         }
         return links;
     }
-}
\ No newline at end of file
+}
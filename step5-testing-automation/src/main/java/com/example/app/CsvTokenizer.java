@@ -0,0 +1,190 @@
+package com.example.app;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written RFC 4180 tokenizer: fields may be quoted, quoted fields may contain commas
+ * and line breaks, and a doubled quote inside a quoted field stands for one quote.
+ * Records are scanned character by character and only the requested column is copied,
+ * so pulling one column out of a wide file allocates a single String per record.
+ */
+final class CsvTokenizer {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Readable source;
+    private final CharBuffer buffer = CharBuffer.allocate(BUFFER_SIZE);
+    private final StringBuilder field = new StringBuilder();
+    private boolean eof = false;
+    private List<String> pending;
+    private String selected;
+
+    CsvTokenizer(Readable source) {
+        this.source = source;
+        buffer.flip();
+    }
+
+    /**
+     * Reads the first record and decides which column holds the wanted values.
+     * If the record contains a field named columnName (case-insensitive) it is treated as a
+     * header and skipped; otherwise fallbackColumn is used and the record stays available
+     * as the first data record.
+     * @param columnName Header name to look for
+     * @param fallbackColumn Zero-based column used when the file has no matching header
+     * @return Zero-based index of the selected column
+     * @throws IOException If reading fails
+     */
+    int selectColumn(String columnName, int fallbackColumn) throws IOException {
+        List<String> first = readRecord();
+        if (first == null) {
+            return fallbackColumn;
+        }
+        for (int i = 0; i < first.size(); i++) {
+            if (first.get(i).trim().equalsIgnoreCase(columnName)) {
+                return i;
+            }
+        }
+        pending = first;
+        return fallbackColumn;
+    }
+
+    /**
+     * Reads the next record and materializes every field
+     * @return Fields of the record, or null at the end of the input
+     * @throws IOException If reading fails
+     */
+    List<String> readRecord() throws IOException {
+        if (pending != null) {
+            List<String> record = pending;
+            pending = null;
+            return record;
+        }
+        List<String> fields = new ArrayList<>();
+        return parseRecord(-1, fields) ? fields : null;
+    }
+
+    /**
+     * Reads the next record, copying only one column
+     * @param column Zero-based column to keep, available through {@link #selected()}
+     * @return false at the end of the input
+     * @throws IOException If reading fails
+     */
+    boolean nextRecord(int column) throws IOException {
+        if (pending != null) {
+            selected = column < pending.size() ? pending.get(column) : null;
+            pending = null;
+            return true;
+        }
+        selected = null;
+        return parseRecord(column, null);
+    }
+
+    /**
+     * @return The selected column of the last record read by nextRecord, or null if the record was shorter
+     */
+    String selected() {
+        return selected;
+    }
+
+    /**
+     * Scans one record. Characters are only appended when the field is wanted: every field
+     * if all is non-null, otherwise just the given column.
+     */
+    private boolean parseRecord(int column, List<String> all) throws IOException {
+        int c = read();
+        if (c < 0) {
+            return false;
+        }
+        int index = 0;
+        boolean keep = all != null || column == 0;
+        boolean fieldStart = true;
+        field.setLength(0);
+
+        while (true) {
+            if (c == '"' && fieldStart) {
+                fieldStart = false;
+                c = readQuoted(keep);
+                continue;
+            }
+            fieldStart = false;
+            if (c == ',' || c == '\n' || c == '\r' || c < 0) {
+                if (keep) {
+                    if (all != null) {
+                        all.add(field.toString());
+                    } else {
+                        selected = field.toString();
+                    }
+                }
+                if (c != ',') {
+                    if (c == '\r' && peek() == '\n') {
+                        read();
+                    }
+                    return true;
+                }
+                index++;
+                keep = all != null || index == column;
+                fieldStart = true;
+                field.setLength(0);
+            } else if (keep) {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Reads the body of a quoted field whose opening quote has been consumed
+     * @return The first character after the closing quote
+     */
+    private int readQuoted(boolean keep) throws IOException {
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                return c;
+            }
+            if (c == '"') {
+                if (peek() != '"') {
+                    return read();
+                }
+                read();
+            }
+            if (keep) {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (!buffer.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return buffer.get();
+    }
+
+    private int peek() throws IOException {
+        if (!buffer.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return buffer.get(buffer.position());
+    }
+
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        buffer.clear();
+        int n;
+        do {
+            n = source.read(buffer);
+        } while (n == 0);
+        buffer.flip();
+        if (n < 0) {
+            eof = true;
+            return false;
+        }
+        return true;
+    }
+}
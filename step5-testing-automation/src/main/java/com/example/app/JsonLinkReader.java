@@ -4,17 +4,33 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
 public class JsonLinkReader implements LinkReader {
+
+    private final Charset charset;
+
+    public JsonLinkReader() {
+        this(LinkCharsets.DEFAULT_CHARSET);
+    }
+
+    /**
+     * @param charset Charset of the link files (UTF-8 by default)
+     */
+    public JsonLinkReader(Charset charset) {
+        this.charset = charset;
+    }
+
     @Override
     public List<String> readLinks(String filePath) throws IOException {
         List<String> links = new ArrayList<>();
         try {
-            String content = new String(Files.readAllBytes(Paths.get(filePath)));
+            byte[] bytes = Files.readAllBytes(Paths.get(filePath));
+            String content = new String(bytes, charset);
             JSONArray jsonArray = new JSONArray(content);
             for (int i = 0; i < jsonArray.length(); i++) {
                 JSONObject obj = jsonArray.getJSONObject(i);
@@ -0,0 +1,65 @@
+package com.example.app;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Charset handling shared by the link readers. Link files are UTF-8 unless a reader is given
+ * another charset. Readers that scan raw bytes check at construction that the charset encodes
+ * ASCII as single bytes.
+ */
+final class LinkCharsets {
+
+    static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
+
+    private LinkCharsets() {
+    }
+
+    /**
+     * @return true if every ASCII character is one identical byte and other characters use only
+     * bytes >= 0x80, so newlines, quotes and delimiters can be found by scanning raw bytes
+     */
+    static boolean isAsciiCompatible(Charset charset) {
+        String name = charset.name();
+        return charset.equals(StandardCharsets.UTF_8)
+                || charset.equals(StandardCharsets.US_ASCII)
+                || charset.equals(StandardCharsets.ISO_8859_1)
+                || name.startsWith("ISO-8859-")
+                || name.startsWith("windows-125");
+    }
+
+    /**
+     * Rejects charsets that the byte-scanning readers cannot handle
+     * @return The charset itself
+     * @throws IllegalArgumentException If the charset is not ASCII compatible (UTF-16, ...)
+     */
+    static Charset requireAsciiCompatible(Charset charset) {
+        if (!isAsciiCompatible(charset)) {
+            throw new IllegalArgumentException("Charset not supported by this reader: " + charset.name());
+        }
+        return charset;
+    }
+
+    static boolean isAscii(byte[] bytes, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes bytes of an ASCII-compatible charset, which the caller has checked with
+     * {@link #requireAsciiCompatible(Charset)}. The JDK decoders for UTF-8, ISO-8859-1 and
+     * US-ASCII already copy ASCII runs without a CharsetDecoder; for the other single-byte
+     * charsets, pure-ASCII content is copied as Latin-1 instead of being decoded.
+     */
+    static String decode(byte[] bytes, int offset, int length, Charset charset) {
+        if (charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.ISO_8859_1)
+                || charset.equals(StandardCharsets.US_ASCII) || !isAscii(bytes, offset, length)) {
+            return new String(bytes, offset, length, charset);
+        }
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -22,12 +22,12 @@ public class LinkOpener {
         }
     }
 
+    /**
+     * Checks the link syntax without building a URI, see UrlValidator
+     * @param url Link to check
+     * @return true if the link is an absolute URL with a host
+     */
     public boolean isValidUrl(String url) {
-        try {
-            new URI(url);
-            return true;
-        } catch (URISyntaxException e) {
-            return false;
-        }
+        return UrlValidator.isValid(url);
     }
 }
\ No newline at end of file
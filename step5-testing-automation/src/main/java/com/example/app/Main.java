@@ -29,6 +29,7 @@ public class Main {
         System.out.println("\n--- Testing File Reading ---");
         
         String[] testFiles = {"links.txt", "links.csv", "links.json"};
+        UrlValidator validator = new UrlValidator();
         
         for (String fileName : testFiles) {
             String filePath = DATA_DIR + fileName;
@@ -38,6 +39,11 @@ public class Main {
                 LinkReader reader = LinkReaderFactory.getReader(extension);
                 List<String> links = reader.readLinks(filePath);
                 System.out.println("Successfully read " + links.size() + " links from " + fileName);
+                
+                UrlValidator.Report report = validator.validate(links);
+                if (!report.isAllValid()) {
+                    System.out.println("Invalid links in " + fileName + ": " + report);
+                }
             } catch (IOException e) {
                 System.err.println("Error reading " + fileName + ": " + e.getMessage());
             } catch (IllegalArgumentException e) {
@@ -1,18 +1,49 @@
 package com.example.app;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 public class SimpleFileReader {
 
     private static final String DATA_DIR = "java_project/data/";
+    private static final String CSV_URL_COLUMN = "url";
+    private static final int CSV_DEFAULT_URL_COLUMN = 1;
+
+    /** Bytes per read of the I/O stage */
+    private static final int CHUNK_SIZE = 64 * 1024;
+    /** Chunks the I/O stage may read ahead of the parser */
+    private static final int CHUNK_QUEUE_CAPACITY = 16;
+    /** Links the parser may produce ahead of the consumer */
+    private static final int LINK_QUEUE_CAPACITY = 1024;
+    /** How long cancelling waits for each stage to exit */
+    private static final long STOP_TIMEOUT_MILLIS = 1000;
+
+    private final Charset charset;
+
+    public SimpleFileReader() {
+        this(LinkCharsets.DEFAULT_CHARSET);
+    }
+
+    /**
+     * @param charset Charset of the link files (UTF-8 by default)
+     */
+    public SimpleFileReader(Charset charset) {
+        this.charset = charset;
+    }
 
     public static void main(String[] args) {
         System.out.println("--- Reading from TXT file ---");
@@ -27,38 +58,310 @@ public class SimpleFileReader {
 
     public List<String> readLinks(String filePath) throws IOException {
         List<String> links = new ArrayList<>();
-        
+        try (InputStream in = Files.newInputStream(Paths.get(filePath))) {
+            parseLinks(in, filePath, links::add);
+        }
+        return links;
+    }
+
+    /**
+     * Pipelined variant of readLinks: an I/O thread reads the file in chunks, a parser thread
+     * turns them into links, and the consumer runs on the calling thread. The stages are joined
+     * by bounded queues, so the consumer receives the first links while the rest of the file is
+     * still being read, and a slow consumer holds back the reading instead of filling memory.
+     * JSON files are parsed as one document and their links only arrive once it is complete.
+     * @param filePath Path to the link file
+     * @param consumer Receives every link in file order, on the calling thread
+     * @return Number of links passed to the consumer
+     * @throws IOException If reading or parsing fails; links read before the failure have been consumed
+     */
+    public int readLinks(String filePath, Consumer<String> consumer) throws IOException {
+        return readLinksUntil(filePath, link -> {
+            consumer.accept(link);
+            return true;
+        });
+    }
+
+    /**
+     * Pipelined reading that the handler can stop early, e.g. once it has found the link it needs.
+     * The I/O and parse stages are stopped before this method returns.
+     * @param filePath Path to the link file
+     * @param handler Receives every link in file order, on the calling thread; returns false to stop reading
+     * @return Number of links passed to the handler
+     * @throws IOException If reading or parsing fails before the handler stops
+     */
+    public int readLinksUntil(String filePath, Predicate<String> handler) throws IOException {
+        Pipeline pipeline = new Pipeline(Files.newInputStream(Paths.get(filePath)), filePath);
+        try {
+            pipeline.start();
+            return pipeline.drainTo(handler);
+        } finally {
+            pipeline.cancel();
+        }
+    }
+
+    /**
+     * Parses the links of a file from a byte stream
+     * @param in Content of the file
+     * @param filePath Path of the file, used to pick the format from its extension
+     * @param sink Receives the links in file order
+     */
+    private void parseLinks(InputStream in, String filePath, LinkSink sink) throws IOException {
         if (filePath.endsWith(".txt")) {
-            try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+            if (LinkCharsets.isAsciiCompatible(charset)) {
+                ByteLineReader reader = new ByteLineReader(in, charset);
+                String line;
+                while ((line = reader.readLine(true)) != null) {
+                    sink.accept(line);
+                }
+            } else {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, charset));
                 String line;
                 while ((line = reader.readLine()) != null) {
-                    links.add(line.trim());
+                    sink.accept(line.trim());
                 }
             }
         } else if (filePath.endsWith(".csv")) {
-            try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    String[] parts = line.split(",");
-                    if (parts.length >= 2) {
-                        links.add(parts[1].trim());
-                    }
+            CsvTokenizer tokenizer = new CsvTokenizer(new BufferedReader(new InputStreamReader(in, charset)));
+            int column = tokenizer.selectColumn(CSV_URL_COLUMN, CSV_DEFAULT_URL_COLUMN);
+            while (tokenizer.nextRecord(column)) {
+                String url = tokenizer.selected();
+                if (url != null && !url.trim().isEmpty()) {
+                    sink.accept(url.trim());
                 }
             }
         } else if (filePath.endsWith(".json")) {
-            String content = new String(Files.readAllBytes(Paths.get(filePath)));
-            JSONArray jsonArray = new JSONArray(content);
+            byte[] bytes = in.readAllBytes();
+            JSONArray jsonArray = new JSONArray(new String(bytes, charset));
             for (int i = 0; i < jsonArray.length(); i++) {
                 JSONObject obj = jsonArray.getJSONObject(i);
-                links.add(obj.getString("url"));
+                sink.accept(obj.getString("url"));
+            }
+        }
+    }
+
+    /**
+     * Receives parsed links; may block, in which case an interrupt surfaces as InterruptedIOException
+     */
+    private interface LinkSink {
+        void accept(String link) throws IOException;
+    }
+
+    /**
+     * Buffer passed from the I/O stage to the parser
+     */
+    private static final class Chunk {
+        final byte[] bytes;
+        int length;
+
+        Chunk(int size) {
+            this.bytes = new byte[size];
+        }
+    }
+
+    /**
+     * Read, parse and consume stages of one pipelined readLinks call. Chunk buffers circulate
+     * between a free queue and a full queue, so reading allocates nothing per chunk.
+     * A stage that fails records the error and still sends the end marker downstream;
+     * the consumer rethrows it once the links read so far have been delivered.
+     * After a read error the parser stops at the end of the last complete chunk instead of
+     * treating it as the end of the file, so a line cut off by the error is not taken as a link.
+     * Once cancelled, the stages exit without sending markers nobody will take.
+     */
+    private final class Pipeline {
+        private final Chunk endOfFile = new Chunk(0);
+        private final String endOfLinks = new String("end of links");
+
+        private final InputStream file;
+        private final String filePath;
+        private final BlockingQueue<Chunk> freeChunks = new ArrayBlockingQueue<>(CHUNK_QUEUE_CAPACITY + 1);
+        private final BlockingQueue<Chunk> fullChunks = new ArrayBlockingQueue<>(CHUNK_QUEUE_CAPACITY + 1);
+        private final BlockingQueue<String> links = new ArrayBlockingQueue<>(LINK_QUEUE_CAPACITY);
+        private final Thread ioThread;
+        private final Thread parseThread;
+        private volatile Throwable failure;
+        private volatile boolean cancelled = false;
+
+        Pipeline(InputStream file, String filePath) {
+            this.file = file;
+            this.filePath = filePath;
+            for (int i = 0; i < CHUNK_QUEUE_CAPACITY; i++) {
+                freeChunks.add(new Chunk(CHUNK_SIZE));
+            }
+            this.ioThread = new Thread(this::readChunks, "link-reader-io");
+            this.parseThread = new Thread(this::parseChunks, "link-reader-parse");
+            ioThread.setDaemon(true);
+            parseThread.setDaemon(true);
+        }
+
+        void start() {
+            ioThread.start();
+            parseThread.start();
+        }
+
+        /**
+         * I/O stage: fills free chunks from the file until it ends
+         */
+        private void readChunks() {
+            try {
+                while (true) {
+                    Chunk chunk = freeChunks.take();
+                    int n = file.read(chunk.bytes, 0, chunk.bytes.length);
+                    if (n < 0) {
+                        break;
+                    }
+                    chunk.length = n;
+                    fullChunks.put(chunk);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            }
+            // Always room for the marker: there is one more slot than chunks
+            fullChunks.add(endOfFile);
+        }
+
+        /**
+         * Parse stage: reads the chunks as one stream and queues the links
+         */
+        private void parseChunks() {
+            try {
+                parseLinks(new ChunkInputStream(), filePath, link -> {
+                    try {
+                        links.put(link);
+                    } catch (InterruptedException e) {
+                        throw new InterruptedIOException("Link reading cancelled");
+                    }
+                });
+            } catch (InterruptedIOException e) {
+                if (!cancelled) {
+                    fail(e);
+                }
+            } catch (Throwable e) {
+                fail(e);
+            }
+            if (cancelled) {
+                // The consumer has stopped; the interrupt that told us may already be consumed,
+                // so a put on a full queue would block forever
+                return;
+            }
+            try {
+                links.put(endOfLinks);
+            } catch (InterruptedException e) {
+                // Cancelled while waiting: nobody takes the marker
+            }
+        }
+
+        /**
+         * Consume stage: runs on the calling thread
+         */
+        int drainTo(Predicate<String> handler) throws IOException {
+            int count = 0;
+            try {
+                String link;
+                while ((link = links.take()) != endOfLinks) {
+                    count++;
+                    if (!handler.test(link)) {
+                        // Stopped on purpose: later stage failures do not matter
+                        return count;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while reading " + filePath);
+            }
+            Throwable error = failure;
+            if (error instanceof IOException) {
+                throw new IOException(error.getMessage(), error);
+            }
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            }
+            if (error instanceof Error) {
+                throw (Error) error;
+            }
+            return count;
+        }
+
+        /**
+         * Stops both stages, waits for them to exit and closes the file; safe to call after a normal end
+         */
+        void cancel() throws IOException {
+            cancelled = true;
+            ioThread.interrupt();
+            parseThread.interrupt();
+            try {
+                ioThread.join(STOP_TIMEOUT_MILLIS);
+                parseThread.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                file.close();
+            }
+        }
+
+        private void fail(Throwable e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+
+        /**
+         * InputStream over the full chunk queue; hands consumed chunks back to the I/O stage
+         */
+        private final class ChunkInputStream extends InputStream {
+            private Chunk current;
+            private int position;
+
+            @Override
+            public int read() throws IOException {
+                if (!nextChunk()) {
+                    return -1;
+                }
+                return current.bytes[position++] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] target, int offset, int length) throws IOException {
+                if (length == 0) {
+                    return 0;
+                }
+                if (!nextChunk()) {
+                    return -1;
+                }
+                int n = Math.min(length, current.length - position);
+                System.arraycopy(current.bytes, position, target, offset, n);
+                position += n;
+                return n;
+            }
+
+            /**
+             * @return false at the end of the file, otherwise true with unread bytes in current
+             */
+            private boolean nextChunk() throws IOException {
+                while (current != endOfFile && (current == null || position == current.length)) {
+                    if (current != null) {
+                        freeChunks.add(current);
+                    }
+                    try {
+                        current = fullChunks.take();
+                    } catch (InterruptedException e) {
+                        throw new InterruptedIOException("Link reading cancelled");
+                    }
+                    position = 0;
+                }
+                if (current == endOfFile && failure != null) {
+                    // The file did not end here: the I/O stage failed
+                    throw new IOException("Reading stopped: " + failure.getMessage(), failure);
+                }
+                return current != endOfFile;
             }
         }
-        
-        return links;
     }
 
     private static void readTxtFile(String filePath) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath), LinkCharsets.DEFAULT_CHARSET)) {
             String line;
             while ((line = reader.readLine()) != null) {
                 System.out.println("TXT Link: " + line);
@@ -69,7 +372,7 @@ public class SimpleFileReader {
     }
 
     private static void readCsvFile(String filePath) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath), LinkCharsets.DEFAULT_CHARSET)) {
             String line;
             while ((line = reader.readLine()) != null) {
                 String[] parts = line.split(",");
@@ -84,8 +387,8 @@ public class SimpleFileReader {
 
     private static void readJsonFile(String filePath) {
         try {
-            String content = new String(Files.readAllBytes(Paths.get(filePath)));
-            JSONArray jsonArray = new JSONArray(content);
+            byte[] bytes = Files.readAllBytes(Paths.get(filePath));
+            JSONArray jsonArray = new JSONArray(new String(bytes, LinkCharsets.DEFAULT_CHARSET));
             for (int i = 0; i < jsonArray.length(); i++) {
                 JSONObject obj = jsonArray.getJSONObject(i);
                 System.out.println("JSON Link - Name: " + obj.getString("name") + ", URL: " + obj.getString("url"));
@@ -1,16 +1,43 @@
 package com.example.app;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
 public class TxtLinkReader implements LinkReader {
+
+    private final Charset charset;
+
+    public TxtLinkReader() {
+        this(LinkCharsets.DEFAULT_CHARSET);
+    }
+
+    /**
+     * @param charset Charset of the link files (UTF-8 by default)
+     */
+    public TxtLinkReader(Charset charset) {
+        this.charset = charset;
+    }
+
     @Override
     public List<String> readLinks(String filePath) throws IOException {
         List<String> links = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+        if (LinkCharsets.isAsciiCompatible(charset)) {
+            try (ByteLineReader reader = new ByteLineReader(Files.newInputStream(Paths.get(filePath)), charset)) {
+                String line;
+                while ((line = reader.readLine(true)) != null) {
+                    links.add(line);
+                }
+            }
+            return links;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(Paths.get(filePath)), charset))) {
             String line;
             while ((line = reader.readLine()) != null) {
                 links.add(line.trim());
@@ -18,4 +45,4 @@ public class TxtLinkReader implements LinkReader {
         }
         return links;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,382 @@
+package com.example.app;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Syntax check for web links done by a single-pass scanner, without building a java.net.URI and
+ * without exceptions. A link must have a scheme and an authority ({@code scheme://host[:port]}),
+ * followed by an optional path, query and fragment made of legal or percent-encoded characters.
+ * Non-ASCII letters are accepted the way java.net.URI accepts them.
+ */
+public class UrlValidator {
+
+    /** Number of links validated per parallel task when reading from a stream */
+    private static final int BATCH_SIZE = 4096;
+
+    /**
+     * Why a link was rejected
+     */
+    public enum Problem {
+        EMPTY("empty link"),
+        MISSING_SCHEME("missing scheme"),
+        MISSING_AUTHORITY("missing '//' after the scheme"),
+        INVALID_HOST("missing or invalid host"),
+        INVALID_PORT("invalid port"),
+        INVALID_CHARACTER("invalid character"),
+        INVALID_ESCAPE("invalid percent escape");
+
+        private final String description;
+
+        Problem(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    /**
+     * One rejected link and the line it came from
+     */
+    public static class InvalidUrl {
+        private final int lineNumber;
+        private final String url;
+        private final Problem problem;
+
+        public InvalidUrl(int lineNumber, String url, Problem problem) {
+            this.lineNumber = lineNumber;
+            this.url = url;
+            this.problem = problem;
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public Problem getProblem() {
+            return problem;
+        }
+
+        @Override
+        public String toString() {
+            return "line " + lineNumber + ": " + problem.getDescription() + " (" + url + ")";
+        }
+    }
+
+    /**
+     * Result of a batch validation: how many links were checked and which ones were rejected
+     */
+    public static class Report {
+        private final int checkedCount;
+        private final List<InvalidUrl> invalidUrls;
+
+        Report(int checkedCount, List<InvalidUrl> invalidUrls) {
+            this.checkedCount = checkedCount;
+            this.invalidUrls = Collections.unmodifiableList(invalidUrls);
+        }
+
+        public int getCheckedCount() {
+            return checkedCount;
+        }
+
+        /**
+         * @return Rejected links ordered by line number
+         */
+        public List<InvalidUrl> getInvalidUrls() {
+            return invalidUrls;
+        }
+
+        public boolean isAllValid() {
+            return invalidUrls.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(checkedCount).append(" links checked, ").append(invalidUrls.size()).append(" invalid");
+            for (InvalidUrl invalid : invalidUrls) {
+                sb.append(System.lineSeparator()).append("  ").append(invalid);
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * @param url Link to check
+     * @return true if the link is a syntactically valid absolute URL with a host
+     */
+    public static boolean isValid(CharSequence url) {
+        return check(url) == null;
+    }
+
+    /**
+     * Validates links in parallel. Line numbers are the 1-based positions in the list.
+     * @param urls Links to check
+     * @return Report of the rejected links
+     */
+    public Report validate(List<String> urls) {
+        List<String> links = urls instanceof RandomAccess ? urls : new ArrayList<>(urls);
+        List<InvalidUrl> invalid = IntStream.range(0, links.size())
+                .parallel()
+                .mapToObj(i -> invalidUrl(links.get(i), i + 1))
+                .filter(result -> result != null)
+                .collect(Collectors.toList());
+        return new Report(links.size(), invalid);
+    }
+
+    /**
+     * Validates a stream of links in parallel batches while it is being read, so that millions of
+     * links are never held in memory at once. Line numbers are the 1-based positions in the stream.
+     * @param urls Links to check, consumed in encounter order
+     * @return Report of the rejected links
+     */
+    public Report validate(Stream<String> urls) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int maxPending = Math.max(2, pool.getParallelism() * 2);
+        List<CompletableFuture<List<InvalidUrl>>> pending = new ArrayList<>();
+        List<InvalidUrl> invalid = new ArrayList<>();
+        int[] count = {0};
+        String[][] batch = {new String[BATCH_SIZE]};
+        int[] batchSize = {0};
+
+        urls.sequential().forEachOrdered(url -> {
+            batch[0][batchSize[0]++] = url;
+            count[0]++;
+            if (batchSize[0] == BATCH_SIZE) {
+                pending.add(submit(batch[0], BATCH_SIZE, count[0] - BATCH_SIZE + 1, pool));
+                batch[0] = new String[BATCH_SIZE];
+                batchSize[0] = 0;
+                if (pending.size() >= maxPending) {
+                    // Keep the number of batches in flight bounded
+                    invalid.addAll(pending.remove(0).join());
+                }
+            }
+        });
+        if (batchSize[0] > 0) {
+            pending.add(submit(batch[0], batchSize[0], count[0] - batchSize[0] + 1, pool));
+        }
+        for (CompletableFuture<List<InvalidUrl>> result : pending) {
+            invalid.addAll(result.join());
+        }
+        return new Report(count[0], invalid);
+    }
+
+    private static CompletableFuture<List<InvalidUrl>> submit(String[] urls, int size, int firstLine, ForkJoinPool pool) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<InvalidUrl> invalid = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                InvalidUrl result = invalidUrl(urls[i], firstLine + i);
+                if (result != null) {
+                    invalid.add(result);
+                }
+            }
+            return invalid;
+        }, pool);
+    }
+
+    private static InvalidUrl invalidUrl(String url, int lineNumber) {
+        Problem problem = check(url);
+        return problem == null ? null : new InvalidUrl(lineNumber, url, problem);
+    }
+
+    /**
+     * Scans the link once from left to right
+     * @param url Link to check
+     * @return The first problem found, or null if the link is valid
+     */
+    public static Problem check(CharSequence url) {
+        if (url == null || url.length() == 0) {
+            return Problem.EMPTY;
+        }
+        int length = url.length();
+
+        // scheme = ALPHA *( ALPHA / DIGIT / "+" / "-" / "." ) ":"
+        int i = 0;
+        if (!isAlpha(url.charAt(0))) {
+            return Problem.MISSING_SCHEME;
+        }
+        while (i < length && url.charAt(i) != ':') {
+            char c = url.charAt(i);
+            if (!isAlpha(c) && !isDigit(c) && c != '+' && c != '-' && c != '.') {
+                return Problem.MISSING_SCHEME;
+            }
+            i++;
+        }
+        if (i == length) {
+            return Problem.MISSING_SCHEME;
+        }
+        i++;
+        if (i + 1 >= length || url.charAt(i) != '/' || url.charAt(i + 1) != '/') {
+            return Problem.MISSING_AUTHORITY;
+        }
+        i += 2;
+
+        // authority = [ userinfo "@" ] host [ ":" port ]
+        int authorityEnd = i;
+        int at = -1;
+        while (authorityEnd < length) {
+            char c = url.charAt(authorityEnd);
+            if (c == '/' || c == '?' || c == '#') {
+                break;
+            }
+            if (c == '@') {
+                at = authorityEnd;
+            }
+            authorityEnd++;
+        }
+        if (at >= 0) {
+            Problem problem = checkChars(url, i, at, ":");
+            if (problem != null) {
+                return problem;
+            }
+            i = at + 1;
+        }
+        Problem problem = checkHostAndPort(url, i, authorityEnd);
+        if (problem != null) {
+            return problem;
+        }
+
+        // path, query and fragment; a second '#' is not allowed
+        int fragment = -1;
+        for (i = authorityEnd; i < length; i++) {
+            char c = url.charAt(i);
+            if (c == '#') {
+                if (fragment >= 0) {
+                    return Problem.INVALID_CHARACTER;
+                }
+                fragment = i;
+            } else if (c == '%') {
+                if (i + 2 >= length || !isHex(url.charAt(i + 1)) || !isHex(url.charAt(i + 2))) {
+                    return Problem.INVALID_ESCAPE;
+                }
+                i += 2;
+            } else if (!isPathChar(c) && c != '/' && c != '?') {
+                return Problem.INVALID_CHARACTER;
+            }
+        }
+        return null;
+    }
+
+    private static Problem checkHostAndPort(CharSequence url, int start, int end) {
+        int hostEnd;
+        if (start < end && url.charAt(start) == '[') {
+            // IP-literal such as [::1]
+            hostEnd = start + 1;
+            while (hostEnd < end && url.charAt(hostEnd) != ']') {
+                char c = url.charAt(hostEnd);
+                if (!isHex(c) && c != ':' && c != '.') {
+                    return Problem.INVALID_HOST;
+                }
+                hostEnd++;
+            }
+            if (hostEnd == end || hostEnd == start + 1) {
+                return Problem.INVALID_HOST;
+            }
+            hostEnd++;
+        } else {
+            hostEnd = start;
+            while (hostEnd < end && url.charAt(hostEnd) != ':') {
+                hostEnd++;
+            }
+            if (hostEnd == start) {
+                return Problem.INVALID_HOST;
+            }
+            Problem problem = checkChars(url, start, hostEnd, "");
+            if (problem != null) {
+                return problem == Problem.INVALID_CHARACTER ? Problem.INVALID_HOST : problem;
+            }
+        }
+        if (hostEnd == end) {
+            return null;
+        }
+        if (url.charAt(hostEnd) != ':' || end - hostEnd - 1 > 5) {
+            return Problem.INVALID_PORT;
+        }
+        int port = 0;
+        for (int i = hostEnd + 1; i < end; i++) {
+            char c = url.charAt(i);
+            if (!isDigit(c)) {
+                return Problem.INVALID_PORT;
+            }
+            port = port * 10 + (c - '0');
+        }
+        return port > 65535 ? Problem.INVALID_PORT : null;
+    }
+
+    /**
+     * Checks unreserved, sub-delims, percent-encoded and extra allowed characters in [start, end)
+     */
+    private static Problem checkChars(CharSequence url, int start, int end, String extra) {
+        for (int i = start; i < end; i++) {
+            char c = url.charAt(i);
+            if (c == '%') {
+                if (i + 2 >= end || !isHex(url.charAt(i + 1)) || !isHex(url.charAt(i + 2))) {
+                    return Problem.INVALID_ESCAPE;
+                }
+                i += 2;
+            } else if (!isUnreserved(c) && !isSubDelim(c) && extra.indexOf(c) < 0) {
+                return Problem.INVALID_CHARACTER;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isPathChar(char c) {
+        return isUnreserved(c) || isSubDelim(c) || c == ':' || c == '@';
+    }
+
+    private static boolean isUnreserved(char c) {
+        return isAlpha(c) || isDigit(c) || c == '-' || c == '.' || c == '_' || c == '~' || isOther(c);
+    }
+
+    private static boolean isSubDelim(char c) {
+        switch (c) {
+            case '!':
+            case '$':
+            case '&':
+            case '\'':
+            case '(':
+            case ')':
+            case '*':
+            case '+':
+            case ',':
+            case ';':
+            case '=':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Non-ASCII characters that are neither control nor space characters, as java.net.URI allows
+     */
+    private static boolean isOther(char c) {
+        return c >= 0x80 && !Character.isISOControl(c) && !Character.isSpaceChar(c);
+    }
+
+    private static boolean isAlpha(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHex(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+}
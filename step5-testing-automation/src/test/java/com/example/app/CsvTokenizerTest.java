@@ -0,0 +1,65 @@
+package com.example.app;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvTokenizerTest {
+
+    @Test
+    @DisplayName("Split plain fields")
+    void testPlainFields() throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("a,b,c\nd,e,f"));
+
+        assertEquals(Arrays.asList("a", "b", "c"), tokenizer.readRecord());
+        assertEquals(Arrays.asList("d", "e", "f"), tokenizer.readRecord());
+        assertNull(tokenizer.readRecord(), "Should return null at end of input");
+    }
+
+    @Test
+    @DisplayName("Keep commas, quotes and line breaks inside quoted fields")
+    void testQuotedFields() throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(
+                new StringReader("\"Doe, John\",\"say \"\"hi\"\"\",\"two\r\nlines\"\r\nnext,row"));
+
+        assertEquals(Arrays.asList("Doe, John", "say \"hi\"", "two\r\nlines"), tokenizer.readRecord());
+        assertEquals(Arrays.asList("next", "row"), tokenizer.readRecord());
+    }
+
+    @Test
+    @DisplayName("Materialize only the selected column")
+    void testSelectedColumn() throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("a,\"x,y\",c\nshort\n"));
+
+        assertTrue(tokenizer.nextRecord(1));
+        assertEquals("x,y", tokenizer.selected());
+        assertTrue(tokenizer.nextRecord(1));
+        assertNull(tokenizer.selected(), "Should report a missing column as null");
+        assertFalse(tokenizer.nextRecord(1));
+    }
+
+    @Test
+    @DisplayName("Pick the column by header name")
+    void testSelectColumnByHeader() throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("id,title,URL\n1,Home,https://junit.org"));
+
+        assertEquals(2, tokenizer.selectColumn("url", 1), "Header lookup should ignore case");
+        assertTrue(tokenizer.nextRecord(2));
+        assertEquals("https://junit.org", tokenizer.selected());
+    }
+
+    @Test
+    @DisplayName("Fall back to the default column without a header")
+    void testSelectColumnWithoutHeader() throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("JUnit 5,https://junit.org"));
+
+        assertEquals(1, tokenizer.selectColumn("url", 1));
+        assertTrue(tokenizer.nextRecord(1), "First record should still be returned as data");
+        assertEquals("https://junit.org", tokenizer.selected());
+    }
+}
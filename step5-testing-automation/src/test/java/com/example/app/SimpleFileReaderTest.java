@@ -5,6 +5,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -42,6 +46,43 @@ class SimpleFileReaderTest {
         assertTrue(links.contains("https://maven.apache.org"));
     }
 
+    @Test
+    @DisplayName("Read links from CSV file with header and quoted fields")
+    void testReadCsvFileWithHeader() throws IOException {
+        String testFile = getClass().getClassLoader()
+            .getResource("test-links-header.csv").getPath();
+        List<String> links = reader.readLinks(testFile);
+        
+        assertEquals(3, links.size(), "Should skip the header row");
+        assertEquals("https://junit.org", links.get(0), "Quoted commas should not shift the URL column");
+        assertEquals("https://maven.apache.org", links.get(1));
+        assertEquals("https://github.com", links.get(2));
+    }
+
+    @Test
+    @DisplayName("CsvLinkReader reads the same links as SimpleFileReader")
+    void testCsvLinkReaderMatchesSimpleFileReader() throws IOException {
+        CsvLinkReader csvReader = new CsvLinkReader();
+        for (String resource : new String[] {"test-links.csv", "test-links-header.csv"}) {
+            String testFile = getClass().getClassLoader().getResource(resource).getPath();
+            
+            assertEquals(reader.readLinks(testFile), csvReader.readLinks(testFile), "Links should match for " + resource);
+        }
+    }
+
+    @Test
+    @DisplayName("Read UTF-8 TXT file with CRLF line endings")
+    void testReadUtf8TxtFile() throws IOException {
+        String testFile = getClass().getClassLoader()
+            .getResource("test-links-utf8.txt").getPath();
+        List<String> links = reader.readLinks(testFile);
+        
+        assertEquals(3, links.size(), "Should read exactly 3 links");
+        assertEquals("https://junit.org", links.get(0), "Line endings should be stripped");
+        assertEquals("https://m\u00fcnchen.de/stra\u00dfe", links.get(1), "Non-ASCII links should be decoded as UTF-8");
+        assertEquals("https://github.com", links.get(2), "Whitespace should be trimmed");
+    }
+
     @Test
     @DisplayName("Read links from JSON file")
     void testReadValidJsonFile() throws IOException {
@@ -61,4 +102,117 @@ class SimpleFileReaderTest {
             reader.readLinks("non-existent-file.txt");
         }, "Should throw IOException for non-existent file");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Pipelined reading delivers the same links as readLinks")
+    void testPipelinedReadMatchesReadLinks() throws IOException {
+        for (String resource : new String[] {"test-links.txt", "test-links-header.csv", "test-links-utf8.txt"}) {
+            String testFile = getClass().getClassLoader().getResource(resource).getPath();
+            List<String> consumed = new ArrayList<>();
+            int count = reader.readLinks(testFile, consumed::add);
+            
+            assertEquals(reader.readLinks(testFile), consumed, "Links should match for " + resource);
+            assertEquals(consumed.size(), count, "Returned count should match the consumed links");
+        }
+    }
+
+    @Test
+    @DisplayName("Pipelined reading keeps file order across many chunks")
+    void testPipelinedReadLargeFile() throws IOException {
+        Path file = Files.createTempFile("pipelined-links", ".txt");
+        try {
+            StringBuilder content = new StringBuilder();
+            for (int i = 0; i < 50_000; i++) {
+                content.append("https://site").append(i).append(".example.com\n");
+            }
+            Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+            
+            List<String> consumed = new ArrayList<>();
+            reader.readLinks(file.toString(), consumed::add);
+            
+            assertEquals(50_000, consumed.size(), "Should read every link");
+            for (int i = 0; i < consumed.size(); i++) {
+                assertEquals("https://site" + i + ".example.com", consumed.get(i), "Links should stay in file order");
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Pipelined reading stops when the consumer fails")
+    void testPipelinedReadConsumerFailure() {
+        String testFile = getClass().getClassLoader()
+            .getResource("test-links.txt").getPath();
+        List<String> consumed = new ArrayList<>();
+        
+        assertThrows(IllegalStateException.class, () -> {
+            reader.readLinks(testFile, link -> {
+                consumed.add(link);
+                throw new IllegalStateException("Browser crashed");
+            });
+        }, "Consumer exceptions should reach the caller");
+        assertEquals(1, consumed.size(), "No links should be delivered after the failure");
+    }
+
+    @Test
+    @DisplayName("Pipelined reading leaves no threads behind when the consumer fails")
+    void testPipelinedReadConsumerFailureStopsThreads() throws Exception {
+        Path file = Files.createTempFile("pipelined-links", ".txt");
+        try {
+            StringBuilder content = new StringBuilder();
+            for (int i = 0; i < 50_000; i++) {
+                content.append("https://site").append(i).append(".example.com\n");
+            }
+            Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+
+            for (int run = 0; run < 5; run++) {
+                assertThrows(IllegalStateException.class, () -> {
+                    reader.readLinks(file.toString(), link -> {
+                        throw new IllegalStateException("Browser crashed");
+                    });
+                });
+            }
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (countThreads("link-reader-parse") > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, countThreads("link-reader-parse"), "Parse threads should stop after a consumer failure");
+            assertEquals(0, countThreads("link-reader-io"), "I/O threads should stop after a consumer failure");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Pipelined reading stops when the handler returns false")
+    void testPipelinedReadUntil() throws IOException {
+        String testFile = getClass().getClassLoader()
+            .getResource("test-links.txt").getPath();
+        List<String> consumed = new ArrayList<>();
+        
+        int count = reader.readLinksUntil(testFile, link -> {
+            consumed.add(link);
+            return false;
+        });
+        
+        assertEquals(1, count, "Only the first link should be handled");
+        assertEquals(reader.readLinks(testFile).get(0), consumed.get(0), "The first link should be handled");
+        assertEquals(0, countThreads("link-reader-parse"), "Reader threads should be stopped on return");
+    }
+
+    private static long countThreads(String name) {
+        return Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> thread.getName().equals(name) && thread.isAlive())
+            .count();
+    }
+
+    @Test
+    @DisplayName("Pipelined reading of a non-existent file")
+    void testPipelinedReadNonExistentFile() {
+        assertThrows(IOException.class, () -> {
+            reader.readLinks("non-existent-file.txt", link -> { });
+        }, "Should throw IOException for non-existent file");
+    }
+}
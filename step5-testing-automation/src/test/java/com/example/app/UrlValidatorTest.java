@@ -0,0 +1,73 @@
+package com.example.app;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlValidatorTest {
+
+    private UrlValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        validator = new UrlValidator();
+    }
+
+    @Test
+    @DisplayName("Accept absolute URLs with a host")
+    void testValidUrls() {
+        assertTrue(UrlValidator.isValid("https://junit.org"));
+        assertTrue(UrlValidator.isValid("http://example.com:8080/docs/index.html?page=1#top"));
+        assertTrue(UrlValidator.isValid("https://user@example.com/%20path"));
+        assertTrue(UrlValidator.isValid("http://[::1]/"));
+        assertTrue(UrlValidator.isValid("https://münchen.de"), "Non-ASCII letters are accepted like java.net.URI does");
+    }
+
+    @Test
+    @DisplayName("Report why a URL is rejected")
+    void testProblems() {
+        assertEquals(UrlValidator.Problem.EMPTY, UrlValidator.check(null));
+        assertEquals(UrlValidator.Problem.EMPTY, UrlValidator.check(""));
+        assertEquals(UrlValidator.Problem.MISSING_SCHEME, UrlValidator.check("not-a-url"));
+        assertEquals(UrlValidator.Problem.MISSING_SCHEME, UrlValidator.check("://invalid"));
+        assertEquals(UrlValidator.Problem.MISSING_AUTHORITY, UrlValidator.check("https:/junit.org"));
+        assertEquals(UrlValidator.Problem.INVALID_HOST, UrlValidator.check("https://"));
+        assertEquals(UrlValidator.Problem.INVALID_PORT, UrlValidator.check("https://junit.org:99999"));
+        assertEquals(UrlValidator.Problem.INVALID_CHARACTER, UrlValidator.check("https://junit.org/a b"));
+        assertEquals(UrlValidator.Problem.INVALID_ESCAPE, UrlValidator.check("https://junit.org/%zz"));
+    }
+
+    @Test
+    @DisplayName("Batch validation reports invalid entries with line numbers")
+    void testValidateList() {
+        List<String> links = Arrays.asList("https://junit.org", "not-a-url", "https://maven.apache.org", "");
+        UrlValidator.Report report = validator.validate(links);
+
+        assertEquals(4, report.getCheckedCount());
+        assertEquals(2, report.getInvalidUrls().size(), "Should report both invalid links");
+        assertEquals(2, report.getInvalidUrls().get(0).getLineNumber());
+        assertEquals("not-a-url", report.getInvalidUrls().get(0).getUrl());
+        assertEquals(4, report.getInvalidUrls().get(1).getLineNumber());
+        assertFalse(report.isAllValid());
+    }
+
+    @Test
+    @DisplayName("Stream validation keeps line order across batches")
+    void testValidateStream() {
+        UrlValidator.Report report = validator.validate(
+                IntStream.rangeClosed(1, 10_000)
+                        .mapToObj(i -> i % 3000 == 0 ? "bad link " + i : "https://example.com/" + i));
+
+        assertEquals(10_000, report.getCheckedCount());
+        assertEquals(3, report.getInvalidUrls().size());
+        assertEquals(3000, report.getInvalidUrls().get(0).getLineNumber());
+        assertEquals(6000, report.getInvalidUrls().get(1).getLineNumber());
+        assertEquals(9000, report.getInvalidUrls().get(2).getLineNumber());
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.app;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary link-list format (.lnkb) with random access.
+ *
+ * Layout (big-endian):
+ *   header      magic "LNKB", version, link count, string count (4 ints)
+ *   link table  per link: string ids of name, url and expectedTitle (3 ints, -1 for null)
+ *   offsets     string count + 1 ints, start of each string inside the string data
+ *   string data deduplicated UTF-8 strings
+ *
+ * Opening only reads the header of the memory-mapped file, and the nth link is located
+ * directly through the fixed-size link table, so no scanning is needed.
+ * Files are limited to 2 GB (one mapping).
+ */
+public class BinaryLinkFile implements Closeable {
+
+    static final int MAGIC = 0x4C4E4B42; // "LNKB"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int LINK_ENTRY_SIZE = 12;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final String filePath;
+    private final int linkCount;
+    private final int stringCount;
+    private final int offsetsStart;
+    private final int stringDataStart;
+
+    private BinaryLinkFile(FileChannel channel, MappedByteBuffer buffer, String filePath) throws IOException {
+        this.channel = channel;
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a binary link file: " + filePath);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported binary link file version " + buffer.getInt(4) + ": " + filePath);
+        }
+        this.filePath = filePath;
+        this.linkCount = buffer.getInt(8);
+        this.stringCount = buffer.getInt(12);
+        // The counts come from the file: check that the tables they describe fit into it
+        long offsets = HEADER_SIZE + (long) linkCount * LINK_ENTRY_SIZE;
+        long stringData = offsets + (stringCount + 1L) * 4;
+        if (linkCount < 0 || stringCount < 0 || stringData > buffer.limit()) {
+            throw new IOException("Corrupt binary link file, " + linkCount + " links and " + stringCount
+                                  + " strings do not fit into " + buffer.limit() + " bytes: " + filePath);
+        }
+        this.offsetsStart = (int) offsets;
+        this.stringDataStart = (int) stringData;
+        int stringBytes = buffer.getInt(stringDataStart - 4);
+        if (stringBytes < 0 || stringBytes > buffer.limit() - stringDataStart) {
+            throw new IOException("Corrupt binary link file, " + stringBytes + " bytes of string data exceed the file: "
+                                  + filePath);
+        }
+    }
+
+    /**
+     * Maps a binary link file for reading
+     * @param filePath Path to the .lnkb file
+     * @return Open file; close it to release the channel
+     * @throws IOException If the file cannot be mapped or is not in the binary link format
+     */
+    public static BinaryLinkFile open(String filePath) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Binary link file larger than 2 GB: " + filePath);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new BinaryLinkFile(channel, buffer, filePath);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return Number of links in the file
+     */
+    public int size() {
+        return linkCount;
+    }
+
+    /**
+     * Reads the nth link without touching any other entry
+     * @param index Zero-based link index
+     * @return LinkData with name, url and expectedTitle (name and title may be null)
+     * @throws UncheckedIOException If the entry refers to a string outside the file
+     */
+    public LinkData get(int index) {
+        int entry = entryOffset(index);
+        return new LinkData(string(buffer.getInt(entry)),
+                            string(buffer.getInt(entry + 4)),
+                            string(buffer.getInt(entry + 8)));
+    }
+
+    /**
+     * Reads only the URL of the nth link
+     * @param index Zero-based link index
+     * @return The URL
+     * @throws UncheckedIOException If the entry refers to a string outside the file
+     */
+    public String getUrl(int index) {
+        return string(buffer.getInt(entryOffset(index) + 4));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int entryOffset(int index) {
+        if (index < 0 || index >= linkCount) {
+            throw new IndexOutOfBoundsException("Link index " + index + " out of range 0.." + (linkCount - 1));
+        }
+        return HEADER_SIZE + index * LINK_ENTRY_SIZE;
+    }
+
+    private String string(int id) {
+        if (id < 0) {
+            return null;
+        }
+        if (id >= stringCount) {
+            throw corrupt("string id " + id + " out of range");
+        }
+        int start = buffer.getInt(offsetsStart + id * 4);
+        int end = buffer.getInt(offsetsStart + (id + 1) * 4);
+        if (start < 0 || start > end || end > buffer.limit() - stringDataStart) {
+            throw corrupt("string " + id + " spans " + start + ".." + end);
+        }
+        byte[] bytes = new byte[end - start];
+        ByteBuffer view = buffer.duplicate();
+        view.position(stringDataStart + start);
+        view.get(bytes);
+        return LinkCharsets.decode(bytes, 0, bytes.length, StandardCharsets.UTF_8);
+    }
+
+    private UncheckedIOException corrupt(String detail) {
+        return new UncheckedIOException(new IOException("Corrupt binary link file, " + detail + ": " + filePath));
+    }
+
+    /**
+     * Writes links in the binary format, storing every distinct string once
+     * @param filePath Target .lnkb file, replaced if it exists
+     * @param links Links to store, in order
+     * @throws IOException If writing fails
+     */
+    public static void write(String filePath, Iterator<LinkData> links) throws IOException {
+        Map<String, Integer> ids = new HashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+        int[] table = new int[3 * 1024];
+        int count = 0;
+
+        while (links.hasNext()) {
+            LinkData link = links.next();
+            if (3 * count + 3 > table.length) {
+                table = Arrays.copyOf(table, table.length * 2);
+            }
+            table[3 * count] = intern(link.getName(), ids, strings);
+            table[3 * count + 1] = intern(link.getUrl(), ids, strings);
+            table[3 * count + 2] = intern(link.getExpectedTitle(), ids, strings);
+            count++;
+        }
+
+        long stringBytes = 0;
+        for (byte[] string : strings) {
+            stringBytes += string.length;
+        }
+        long total = HEADER_SIZE + (long) count * LINK_ENTRY_SIZE + (strings.size() + 1) * 4L + stringBytes;
+        if (total > Integer.MAX_VALUE) {
+            throw new IOException("Binary link file would exceed 2 GB: " + filePath);
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(Paths.get(filePath)), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(count);
+            out.writeInt(strings.size());
+            for (int i = 0; i < 3 * count; i++) {
+                out.writeInt(table[i]);
+            }
+            int offset = 0;
+            for (byte[] string : strings) {
+                out.writeInt(offset);
+                offset += string.length;
+            }
+            out.writeInt(offset);
+            for (byte[] string : strings) {
+                out.write(string);
+            }
+        }
+    }
+
+    private static int intern(String value, Map<String, Integer> ids, List<byte[]> strings) {
+        if (value == null) {
+            return -1;
+        }
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = strings.size();
+            ids.put(value, id);
+            strings.add(value.getBytes(StandardCharsets.UTF_8));
+        }
+        return id;
+    }
+}
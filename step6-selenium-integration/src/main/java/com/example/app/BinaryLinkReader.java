@@ -0,0 +1,32 @@
+package com.example.app;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * LinkReader for the binary .lnkb format written by BinaryLinkFile
+ */
+public class BinaryLinkReader implements LinkReader {
+    @Override
+    public Set<String> fileExtensions() {
+        return Collections.singleton("lnkb");
+    }
+
+    @Override
+    public boolean canRead(byte[] head, int length) {
+        return length >= 4
+                && ((head[0] & 0xFF) << 24 | (head[1] & 0xFF) << 16 | (head[2] & 0xFF) << 8 | (head[3] & 0xFF))
+                   == BinaryLinkFile.MAGIC;
+    }
+
+    @Override
+    public Stream<String> streamLinks(String filePath) throws IOException {
+        BinaryLinkFile file = BinaryLinkFile.open(filePath);
+        return IntStream.range(0, file.size())
+                        .mapToObj(file::getUrl)
+                        .onClose(LinkStreams.closer(file));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.app;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * LinkReader decorator that serves parsed links from a LinkCache and only asks the
+ * wrapped reader to parse when the file changed since it was cached
+ */
+public class CachingLinkReader implements LinkReader {
+    private final LinkReader delegate;
+    private final LinkCache cache;
+
+    public CachingLinkReader(LinkReader delegate, LinkCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Set<String> fileExtensions() {
+        return delegate.fileExtensions();
+    }
+
+    @Override
+    public boolean canRead(byte[] head, int length) {
+        return delegate.canRead(head, length);
+    }
+
+    @Override
+    public String cacheKey() {
+        return delegate.cacheKey();
+    }
+
+    @Override
+    public List<String> readLinks(String filePath) throws IOException {
+        return cache.links(filePath, delegate.cacheKey(), () -> delegate.readLinks(filePath));
+    }
+
+    @Override
+    public Stream<String> streamLinks(String filePath) throws IOException {
+        return readLinks(filePath).stream();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.app;
+
+/**
+ * Byte-level checks used by the LinkReader implementations to recognise their format
+ * from the first bytes of a file
+ */
+final class ContentSniffer {
+
+    private ContentSniffer() {
+    }
+
+    /**
+     * @return Index of the first byte that is neither a UTF-8 byte order mark nor whitespace
+     */
+    static int firstSignificant(byte[] head, int length) {
+        int i = 0;
+        if (length >= 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+            i = 3;
+        }
+        while (i < length && (head[i] == ' ' || head[i] == '\t' || head[i] == '\r' || head[i] == '\n')) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @return true if the first non-blank line contains the given byte
+     */
+    static boolean firstLineContains(byte[] head, int length, byte wanted) {
+        for (int i = firstSignificant(head, length); i < length && head[i] != '\n'; i++) {
+            if (head[i] == wanted) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the bytes contain no NUL, which rules out binary and UTF-16 content
+     */
+    static boolean isText(byte[] head, int length) {
+        for (int i = 0; i < length; i++) {
+            if (head[i] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,24 +1,344 @@
 package com.example.app;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
 
 public class CsvLinkReader implements LinkReader {
+
+    /** Column used when the file has no header row naming the URL column */
+    static final int DEFAULT_URL_COLUMN = 1;
+
+    private static final int MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final String urlColumn;
+    private final Charset charset;
+
+    public CsvLinkReader() {
+        this("url");
+    }
+
+    /**
+     * @param urlColumn Header name of the URL column; files without a matching header use the second column
+     */
+    public CsvLinkReader(String urlColumn) {
+        this(urlColumn, LinkCharsets.DEFAULT_CHARSET);
+    }
+
+    /**
+     * @param urlColumn Header name of the URL column; files without a matching header use the second column
+     * @param charset Charset of the link files (UTF-8 by default); parallel reading needs an ASCII-compatible one
+     */
+    public CsvLinkReader(String urlColumn, Charset charset) {
+        this.urlColumn = urlColumn;
+        this.charset = charset;
+    }
+
     @Override
-    public List<String> readLinks(String filePath) throws IOException {
-        List<String> links = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",");
-                if (parts.length >= 2) {
-                    links.add(parts[1].trim());
+    public Set<String> fileExtensions() {
+        return Collections.singleton("csv");
+    }
+
+    /**
+     * Text whose first line has a comma and does not open a JSON document
+     */
+    @Override
+    public boolean canRead(byte[] head, int length) {
+        int first = ContentSniffer.firstSignificant(head, length);
+        return first < length && head[first] != '[' && head[first] != '{'
+                && ContentSniffer.isText(head, length)
+                && ContentSniffer.firstLineContains(head, length, (byte) ',');
+    }
+
+    @Override
+    public String cacheKey() {
+        return getClass().getName() + ":" + urlColumn + ":" + charset.name();
+    }
+
+    @Override
+    public Stream<String> streamLinks(String filePath) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(LinkFiles.openStream(filePath), charset));
+        try {
+            CsvTokenizer tokenizer = new CsvTokenizer(reader);
+            int column = tokenizer.selectColumn(urlColumn, DEFAULT_URL_COLUMN);
+            return LinkStreams.of(new ColumnIterator(tokenizer, column), reader);
+        } catch (IOException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Parses the file in parallel on the common ForkJoinPool, see
+     * {@link #readLinksParallel(String, ForkJoinPool)}.
+     * @param filePath Path to the CSV file
+     * @return List of links in file order
+     * @throws IOException If file reading fails
+     */
+    public List<String> readLinksParallel(String filePath) throws IOException {
+        return readLinksParallel(filePath, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Splits the file into byte ranges aligned to line starts, parses every range as its own
+     * ForkJoin task and merges the results back in file order.
+     * Compressed files cannot be split and are read sequentially.
+     * <p>
+     * The ranges are split at newline bytes without knowing whether they are inside quotes. If a
+     * range ends inside a quoted field, a field spanning lines was cut in two; the parallel results
+     * are then discarded and the file is read sequentially with {@link #readLinks(String)}. If no
+     * range ends inside quotes, every range started on a record boundary and the result equals
+     * readLinks.
+     * @param filePath Path to the CSV file
+     * @param pool Pool running the chunk tasks
+     * @return List of links in file order
+     * @throws IOException If file reading fails
+     */
+    public List<String> readLinksParallel(String filePath, ForkJoinPool pool) throws IOException {
+        if (LinkFiles.isCompressed(filePath)) {
+            return readLinks(filePath);
+        }
+        LinkCharsets.requireAsciiCompatible(charset);
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long firstLineEnd = nextLineStart(channel, 0, channel.size(), ByteBuffer.allocate(4096));
+            CsvTokenizer header = new CsvTokenizer(chunkReader(channel, 0, firstLineEnd, charset));
+            int headerColumn = header.selectColumn(urlColumn, -1);
+            boolean hasHeader = headerColumn >= 0;
+            int column = hasHeader ? headerColumn : DEFAULT_URL_COLUMN;
+
+            long[] boundaries = chunkBoundaries(channel, hasHeader ? firstLineEnd : 0, pool.getParallelism());
+            List<ChunkTask> chunks = new ArrayList<>();
+            for (int i = 0; i + 1 < boundaries.length; i++) {
+                chunks.add(new ChunkTask(channel, boundaries[i], boundaries[i + 1], column, charset));
+            }
+
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(chunks);
+                }
+            });
+
+            int total = 0;
+            for (ChunkTask chunk : chunks) {
+                if (chunk.endedInQuote) {
+                    // A quoted field spans a range boundary: the following ranges started mid-field
+                    return readLinks(filePath);
+                }
+                total += chunk.links.size();
+            }
+            List<String> links = new ArrayList<>(total);
+            for (ChunkTask chunk : chunks) {
+                links.addAll(chunk.links);
+            }
+            return links;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Returns the trimmed value of the selected column, or null if the record has none
+     */
+    private static String selectedUrl(CsvTokenizer tokenizer) {
+        String value = tokenizer.selected();
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Computes chunk start offsets, each moved forward to the first byte after a newline
+     */
+    private static long[] chunkBoundaries(FileChannel channel, long dataStart, int parallelism) throws IOException {
+        long size = channel.size();
+        long chunkCount = Math.max((long) parallelism * CHUNKS_PER_THREAD,
+                                   (size + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+        long chunkSize = Math.max(1, (size - dataStart) / chunkCount);
+
+        List<Long> starts = new ArrayList<>();
+        starts.add(dataStart);
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long previous = dataStart;
+        while (true) {
+            long lineStart = nextLineStart(channel, previous + chunkSize, size, probe);
+            if (lineStart >= size) {
+                break;
+            }
+            checkMappable(previous, lineStart);
+            starts.add(lineStart);
+            previous = lineStart;
+        }
+        checkMappable(previous, size);
+
+        long[] boundaries = new long[starts.size() + 1];
+        for (int i = 0; i < starts.size(); i++) {
+            boundaries[i] = starts.get(i);
+        }
+        boundaries[starts.size()] = size;
+        return boundaries;
+    }
+
+    private static void checkMappable(long start, long end) throws IOException {
+        if (end - start > Integer.MAX_VALUE) {
+            throw new IOException("CSV line too long to map at offset " + start);
+        }
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, long size, ByteBuffer probe) throws IOException {
+        long offset = from;
+        while (offset < size) {
+            probe.clear();
+            int read = channel.read(probe, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return offset + i + 1;
                 }
             }
+            offset += read;
+        }
+        return size;
+    }
+
+    /**
+     * Opens a character reader over one mapped byte range of the file
+     */
+    private static Reader chunkReader(FileChannel channel, long start, long end, Charset charset) throws IOException {
+        MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        return new InputStreamReader(new MappedInputStream(bytes), charset);
+    }
+
+    /**
+     * Yields the selected column of each remaining record
+     */
+    private static class ColumnIterator implements Iterator<String> {
+        private final CsvTokenizer tokenizer;
+        private final int column;
+        private String next;
+        private boolean finished = false;
+
+        ColumnIterator(CsvTokenizer tokenizer, int column) {
+            this.tokenizer = tokenizer;
+            this.column = column;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null && !finished) {
+                    if (tokenizer.nextRecord(column)) {
+                        next = selectedUrl(tokenizer);
+                    } else {
+                        finished = true;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String url = next;
+            next = null;
+            return url;
+        }
+    }
+
+    /**
+     * Parses the records of one byte range that starts and ends on a line boundary, noting
+     * whether the range ended inside a quoted field
+     */
+    private static class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+        private final int column;
+        private final Charset charset;
+        private final List<String> links = new ArrayList<>();
+        private boolean endedInQuote;
+
+        ChunkTask(FileChannel channel, long start, long end, int column, Charset charset) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.column = column;
+            this.charset = charset;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                CsvTokenizer tokenizer = new CsvTokenizer(chunkReader(channel, start, end, charset));
+                while (tokenizer.nextRecord(column)) {
+                    String url = selectedUrl(tokenizer);
+                    if (url != null) {
+                        links.add(url);
+                    }
+                }
+                endedInQuote = tokenizer.endedInQuote();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * InputStream view of a mapped byte range
+     */
+    private static class MappedInputStream extends InputStream {
+        private final ByteBuffer bytes;
+
+        MappedInputStream(ByteBuffer bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read() {
+            return bytes.hasRemaining() ? bytes.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!bytes.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(length, bytes.remaining());
+            bytes.get(target, offset, n);
+            return n;
         }
-        return links;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,109 @@
+package com.example.app;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Schema that binds JSON object fields onto slots of a target object, e.g. the setters of
+ * LinkData.Builder. JsonLinkParser matches field names against the schema on their raw bytes,
+ * so no String is built for keys, and the values of unbound fields are skipped without decoding.
+ * @param <T> Type of the object the fields are written to
+ */
+final class JsonBinding<T> {
+
+    /**
+     * Writes one decoded field value into the target
+     */
+    interface Slot<T> {
+        void set(T target, String value);
+    }
+
+    private String[] names = new String[0];
+    private byte[][] keys = new byte[0][];
+    private Slot<T>[] slots = newSlots(0);
+    private int requiredMask = 0;
+
+    /**
+     * Binds an optional field
+     * @param name JSON field name
+     * @param slot Receives the value (null for JSON null)
+     * @return This binding
+     */
+    JsonBinding<T> field(String name, Slot<T> slot) {
+        int index = slots.length;
+        if (index == Integer.SIZE) {
+            throw new IllegalStateException("Too many fields in binding");
+        }
+        names = Arrays.copyOf(names, index + 1);
+        keys = Arrays.copyOf(keys, index + 1);
+        slots = Arrays.copyOf(slots, index + 1);
+        names[index] = name;
+        keys[index] = name.getBytes(StandardCharsets.UTF_8);
+        slots[index] = slot;
+        return this;
+    }
+
+    /**
+     * Binds a field that every object must contain with a non-null value
+     * @param name JSON field name
+     * @param slot Receives the value
+     * @return This binding
+     */
+    JsonBinding<T> requiredField(String name, Slot<T> slot) {
+        field(name, slot);
+        requiredMask |= 1 << (slots.length - 1);
+        return this;
+    }
+
+    /**
+     * @return Index of the field whose UTF-8 name equals bytes[0, length), or -1
+     */
+    int indexOf(byte[] bytes, int length) {
+        for (int i = 0; i < keys.length; i++) {
+            byte[] key = keys[i];
+            if (key.length == length && startsWith(bytes, key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return Index of the field with this name, or -1 (used for keys containing escapes)
+     */
+    int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    void set(int index, T target, String value) {
+        slots[index].set(target, value);
+    }
+
+    /**
+     * @param seenMask Bit i is set when field i was present with a non-null value
+     * @return Name of the first missing required field, or null if all are present
+     */
+    String missingRequired(int seenMask) {
+        int missing = requiredMask & ~seenMask;
+        return missing == 0 ? null : names[Integer.numberOfTrailingZeros(missing)];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Slot<T>[] newSlots(int length) {
+        return (Slot<T>[]) new Slot<?>[length];
+    }
+
+    private static boolean startsWith(byte[] bytes, byte[] key) {
+        for (int i = 0; i < key.length; i++) {
+            if (bytes[i] != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
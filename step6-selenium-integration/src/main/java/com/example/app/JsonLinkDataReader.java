@@ -1,18 +1,48 @@
 package com.example.app;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.ArrayList;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Enhanced JSON reader that extracts both URLs and expected titles from JSON files
  */
 public class JsonLinkDataReader {
+
+    /**
+     * JSON fields written straight into the LinkData.Builder slots while parsing;
+     * Builder.build() then validates the required name and url once per record
+     */
+    private static final JsonBinding<LinkData.Builder> BINDING = new JsonBinding<LinkData.Builder>()
+            .field("name", LinkData.Builder::withName)
+            .field("url", LinkData.Builder::withUrl)
+            .field("expectedTitle", LinkData.Builder::withExpectedTitle);
+
+    private final LinkCache cache;
+    private final Charset charset;
+
+    public JsonLinkDataReader() {
+        this(null);
+    }
+
+    /**
+     * @param cache Cache consulted by readLinkData before parsing, or null to always parse
+     */
+    public JsonLinkDataReader(LinkCache cache) {
+        this(cache, LinkCharsets.DEFAULT_CHARSET);
+    }
+
+    /**
+     * @param cache Cache consulted by readLinkData before parsing, or null to always parse
+     * @param charset ASCII-compatible charset of the JSON files (UTF-8 by default)
+     */
+    public JsonLinkDataReader(LinkCache cache, Charset charset) {
+        this.cache = cache;
+        this.charset = LinkCharsets.requireAsciiCompatible(charset);
+    }
     
     /**
      * Reads LinkData objects from a JSON file
@@ -21,23 +51,35 @@ public class JsonLinkDataReader {
      * @throws IOException If file reading or JSON parsing fails
      */
     public List<LinkData> readLinkData(String filePath) throws IOException {
-        List<LinkData> linkDataList = new ArrayList<>();
-        try {
-            String content = new String(Files.readAllBytes(Paths.get(filePath)));
-            JSONArray jsonArray = new JSONArray(content);
-            
-            for (int i = 0; i < jsonArray.length(); i++) {
-                JSONObject obj = jsonArray.getJSONObject(i);
-                
-                String name = obj.getString("name");
-                String url = obj.getString("url");
-                String expectedTitle = obj.optString("expectedTitle", null);
-                
-                linkDataList.add(new LinkData(name, url, expectedTitle));
-            }
-        } catch (org.json.JSONException e) {
-            throw new IOException("Error parsing JSON file: " + e.getMessage(), e);
+        if (cache != null) {
+            return cache.linkData(filePath, getClass().getName() + ":" + charset.name(), () -> parseLinkData(filePath));
+        }
+        return parseLinkData(filePath);
+    }
+
+    private List<LinkData> parseLinkData(String filePath) throws IOException {
+        try (Stream<LinkData> linkData = streamLinkData(filePath)) {
+            return linkData.collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-        return linkDataList;
     }
-}
\ No newline at end of file
+
+    /**
+     * Streams LinkData objects one at a time straight from the file bytes.
+     * The returned stream keeps the file open: always close it (try-with-resources).
+     * @param filePath Path to the JSON file
+     * @return Lazily evaluated stream of LinkData objects
+     * @throws IOException If the file cannot be opened
+     */
+    public Stream<LinkData> streamLinkData(String filePath) throws IOException {
+        JsonLinkParser parser = new JsonLinkParser(LinkFiles.openStream(filePath), charset);
+        return LinkStreams.of(parser.records(BINDING, LinkData.Builder::new, builder -> {
+            try {
+                return builder.build();
+            } catch (IllegalArgumentException e) {
+                throw parser.invalidRecord(e.getMessage(), e);
+            }
+        }), parser);
+    }
+}
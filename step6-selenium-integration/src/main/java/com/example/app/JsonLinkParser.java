@@ -0,0 +1,415 @@
+package com.example.app;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+/**
+ * Pull parser for link files shaped as a JSON array of objects.
+ * It reads straight from the byte stream and surfaces one object at a time: only the fields
+ * bound in a JsonBinding are decoded and written to their slots, everything else is skipped
+ * without building any tree, so memory use does not depend on the file size.
+ */
+final class JsonLinkParser implements Closeable {
+
+    /**
+     * Turns a target filled by the binding into a result
+     */
+    interface RecordMapper<T, R> {
+        R map(T target) throws IOException;
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final InputStream in;
+    private final Charset charset;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+    private long consumed = 0;
+
+    private byte[] scratch = new byte[128];
+    private boolean started = false;
+    private boolean finished = false;
+
+    /**
+     * @param in JSON bytes, closed with the parser
+     * @param charset ASCII-compatible charset used to decode string values
+     */
+    JsonLinkParser(InputStream in, Charset charset) {
+        this.in = in;
+        this.charset = charset;
+    }
+
+    /**
+     * Advances to the next object of the top-level array and writes its bound fields into the target
+     * @param binding Fields to decode
+     * @param target Receives the field values
+     * @return true if an object was read, false once the array is closed
+     * @throws IOException If reading fails, the content is not a JSON array of objects or
+     *                     a required field is missing
+     */
+    <T> boolean next(JsonBinding<T> binding, T target) throws IOException {
+        if (finished) {
+            return false;
+        }
+        int c = nextClean();
+        if (!started) {
+            started = true;
+            if (c == 0xEF) {
+                // UTF-8 byte order mark
+                read();
+                read();
+                c = nextClean();
+            }
+            if (c != '[') {
+                throw error("A JSON array text must start with '['");
+            }
+            c = nextClean();
+            if (c == ']') {
+                finished = true;
+                return false;
+            }
+        } else if (c == ']') {
+            finished = true;
+            return false;
+        } else if (c == ',') {
+            c = nextClean();
+        } else {
+            throw error("Expected a ',' or ']'");
+        }
+
+        if (c != '{') {
+            throw error("JSON array element is not an object");
+        }
+        String missing = binding.missingRequired(readObject(binding, target));
+        if (missing != null) {
+            throw new IOException("Error parsing JSON file: JSONObject[\"" + missing + "\"] not found.");
+        }
+        return true;
+    }
+
+    /**
+     * Exposes the remaining objects as a lazy iterator
+     * @param binding Fields to decode
+     * @param targets Creates a fresh target for every object
+     * @param mapper Converts a filled target into a result
+     * @return Iterator rethrowing parse failures as UncheckedIOException
+     */
+    <T, R> Iterator<R> records(JsonBinding<T> binding, Supplier<T> targets, RecordMapper<T, R> mapper) {
+        return new Iterator<R>() {
+            private R next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        T target = targets.get();
+                        if (JsonLinkParser.this.next(binding, target)) {
+                            next = mapper.map(target);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public R next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                R result = next;
+                next = null;
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Wraps a validation failure of the current record
+     */
+    IOException invalidRecord(String message, Throwable cause) {
+        IOException e = error(message);
+        e.initCause(cause);
+        return e;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Reads an object whose opening brace has been consumed
+     * @return Bit mask of the bound fields that were present with a non-null value
+     */
+    private <T> int readObject(JsonBinding<T> binding, T target) throws IOException {
+        int seen = 0;
+        int c = nextClean();
+        if (c == '}') {
+            return seen;
+        }
+        while (true) {
+            if (c != '"') {
+                throw error("Expected a quoted field name");
+            }
+            int field = readKey(binding);
+            if (nextClean() != ':') {
+                throw error("Expected a ':' after field name");
+            }
+            if (field >= 0) {
+                String value = readNullableString();
+                binding.set(field, target, value);
+                if (value != null) {
+                    seen |= 1 << field;
+                }
+            } else {
+                skipValue(nextClean());
+            }
+
+            c = nextClean();
+            if (c == '}') {
+                return seen;
+            }
+            if (c != ',') {
+                throw error("Expected a ',' or '}'");
+            }
+            c = nextClean();
+        }
+    }
+
+    /**
+     * Reads a field name whose opening quote has been consumed and looks it up on its raw bytes
+     * @return Index of the bound field, or -1 for fields that are not bound
+     */
+    private int readKey(JsonBinding<?> binding) throws IOException {
+        int length = 0;
+        while (true) {
+            int b = read();
+            if (b == '"') {
+                return binding.indexOf(scratch, length);
+            }
+            if (b == '\\') {
+                // Rare escaped name: decode it fully
+                String prefix = decodeScratch(length, false);
+                pushBack();
+                return binding.indexOf(prefix + readString());
+            }
+            if (b < 0) {
+                throw error("Unterminated string");
+            }
+            if (length == scratch.length) {
+                byte[] grown = new byte[scratch.length * 2];
+                System.arraycopy(scratch, 0, grown, 0, length);
+                scratch = grown;
+            }
+            scratch[length++] = (byte) b;
+        }
+    }
+
+    private String readNullableString() throws IOException {
+        int c = nextClean();
+        if (c == '"') {
+            return readString();
+        }
+        if (c == 'n') {
+            expectLiteral("ull");
+            return null;
+        }
+        throw error("Expected a string value");
+    }
+
+    /**
+     * Reads a string whose opening quote has been consumed. Plain runs of bytes are collected
+     * in a scratch array and decoded in one go (copied without a decoder when the run is pure
+     * ASCII); escapes flush the run into a StringBuilder.
+     */
+    private String readString() throws IOException {
+        StringBuilder escaped = null;
+        int length = 0;
+        boolean ascii = true;
+        while (true) {
+            int b = read();
+            if (b == '"') {
+                break;
+            }
+            if (b == '\\') {
+                if (escaped == null) {
+                    escaped = new StringBuilder();
+                }
+                escaped.append(decodeScratch(length, ascii));
+                escaped.append(readEscape());
+                length = 0;
+                ascii = true;
+                continue;
+            }
+            if (b < 0) {
+                throw error("Unterminated string");
+            }
+            if (b < 0x20) {
+                throw error("Control character in string");
+            }
+            if (length == scratch.length) {
+                byte[] grown = new byte[scratch.length * 2];
+                System.arraycopy(scratch, 0, grown, 0, length);
+                scratch = grown;
+            }
+            ascii &= b < 0x80;
+            scratch[length++] = (byte) b;
+        }
+        String tail = decodeScratch(length, ascii);
+        return escaped == null ? tail : escaped.append(tail).toString();
+    }
+
+    private String decodeScratch(int length, boolean ascii) {
+        return ascii
+                ? new String(scratch, 0, length, StandardCharsets.ISO_8859_1)
+                : new String(scratch, 0, length, charset);
+    }
+
+    private char readEscape() throws IOException {
+        int c = read();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw error("Illegal \\u escape");
+                    }
+                    value = (value << 4) | digit;
+                }
+                return (char) value;
+            default:
+                throw error("Illegal escape");
+        }
+    }
+
+    private void skipString() throws IOException {
+        while (true) {
+            int b = read();
+            if (b == '"') {
+                return;
+            }
+            if (b == '\\') {
+                read();
+            } else if (b < 0) {
+                throw error("Unterminated string");
+            }
+        }
+    }
+
+    /**
+     * Skips a value whose first significant byte has been consumed, without decoding it
+     */
+    private void skipValue(int first) throws IOException {
+        if (first == '"') {
+            skipString();
+            return;
+        }
+        if (first == '{' || first == '[') {
+            int depth = 1;
+            while (depth > 0) {
+                int b = read();
+                if (b < 0) {
+                    throw error("Unterminated " + (first == '{' ? "object" : "array"));
+                }
+                if (b == '"') {
+                    skipString();
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    depth--;
+                }
+            }
+            return;
+        }
+        if (first < 0 || first == ',' || first == '}' || first == ']') {
+            throw error("Missing value");
+        }
+        // Number or literal: runs until the next delimiter
+        while (true) {
+            int b = peek();
+            if (b < 0 || b == ',' || b == '}' || b == ']' || b <= ' ') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    private void expectLiteral(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (read() != rest.charAt(i)) {
+                throw error("Invalid literal");
+            }
+        }
+    }
+
+    private int nextClean() throws IOException {
+        while (true) {
+            int b = read();
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return b;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    /**
+     * Steps back over the byte just returned by read()
+     */
+    private void pushBack() {
+        position--;
+    }
+
+    private boolean fill() throws IOException {
+        consumed += limit;
+        position = 0;
+        limit = 0;
+        int n = in.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            return false;
+        }
+        limit = n;
+        return true;
+    }
+
+    private IOException error(String message) {
+        return new IOException("Error parsing JSON file: " + message + " at byte " + (consumed + position));
+    }
+}
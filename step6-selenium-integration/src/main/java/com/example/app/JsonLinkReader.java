@@ -1,28 +1,59 @@
 package com.example.app;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public class JsonLinkReader implements LinkReader {
+
+    /** Only the url is decoded; name, expectedTitle and any other field are skipped */
+    private static final JsonBinding<UrlHolder> BINDING = new JsonBinding<UrlHolder>()
+            .requiredField("url", (holder, url) -> holder.url = url);
+
+    private final Charset charset;
+
+    public JsonLinkReader() {
+        this(LinkCharsets.DEFAULT_CHARSET);
+    }
+
+    /**
+     * @param charset ASCII-compatible charset of the link files (UTF-8 by default)
+     */
+    public JsonLinkReader(Charset charset) {
+        this.charset = LinkCharsets.requireAsciiCompatible(charset);
+    }
+
     @Override
-    public List<String> readLinks(String filePath) throws IOException {
-        List<String> links = new ArrayList<>();
-        try {
-            String content = new String(Files.readAllBytes(Paths.get(filePath)));
-            JSONArray jsonArray = new JSONArray(content);
-            for (int i = 0; i < jsonArray.length(); i++) {
-                JSONObject obj = jsonArray.getJSONObject(i);
-                links.add(obj.getString("url"));
-            }
-        } catch (org.json.JSONException e) {
-            throw new IOException("Error parsing JSON file: " + e.getMessage(), e);
-        }
-        return links;
+    public Set<String> fileExtensions() {
+        return Collections.singleton("json");
+    }
+
+    /**
+     * A JSON document that opens with an array
+     */
+    @Override
+    public boolean canRead(byte[] head, int length) {
+        int first = ContentSniffer.firstSignificant(head, length);
+        return first < length && head[first] == '[';
+    }
+
+    @Override
+    public String cacheKey() {
+        return getClass().getName() + ":" + charset.name();
+    }
+
+    @Override
+    public Stream<String> streamLinks(String filePath) throws IOException {
+        JsonLinkParser parser = new JsonLinkParser(LinkFiles.openStream(filePath), charset);
+        return LinkStreams.of(parser.records(BINDING, UrlHolder::new, holder -> holder.url), parser);
+    }
+
+    /**
+     * Slot for the only field this reader needs
+     */
+    private static class UrlHolder {
+        String url;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,244 @@
+package com.example.app;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Persistent cache of parsed link files. Each entry is stored on disk next to the data,
+ * keyed by the source path and validated against its size, modification time and SHA-256
+ * content hash. When the source is unchanged, loading is a plain binary read instead of a parse.
+ * If only the modification time moved (a touch, a fresh checkout) the content hash decides.
+ */
+public class LinkCache {
+
+    /**
+     * Produces the parsed content on a cache miss
+     */
+    public interface Loader<T> {
+        List<T> load() throws IOException;
+    }
+
+    private static final int MAGIC = 0x4C4E4B43; // "LNKC"
+    private static final int VERSION = 1;
+    private static final String KIND_LINKS = "links";
+    private static final String KIND_LINK_DATA = "linkData";
+
+    private final Path cacheDir;
+
+    /**
+     * @param cacheDir Directory holding the cache entries, created on first store
+     */
+    public LinkCache(String cacheDir) {
+        this.cacheDir = Paths.get(cacheDir);
+    }
+
+    /**
+     * Returns the links of a file from the cache, parsing and storing them on a miss
+     * @param filePath Source link file
+     * @param parser Name of the parser, so different readers of one file get separate entries
+     * @param loader Parses the file on a miss
+     * @return Parsed links
+     * @throws IOException If the source cannot be read or parsed
+     */
+    public List<String> links(String filePath, String parser, Loader<String> loader) throws IOException {
+        Entry<String> entry = new Entry<>(filePath, KIND_LINKS + ":" + parser) {
+            @Override
+            String readRecord(DataInputStream in) throws IOException {
+                return readString(in);
+            }
+
+            @Override
+            void writeRecord(DataOutputStream out, String link) throws IOException {
+                writeString(out, link);
+            }
+        };
+        return entry.get(loader);
+    }
+
+    /**
+     * Returns the LinkData of a JSON file from the cache, parsing and storing it on a miss
+     * @param filePath Source JSON file
+     * @param parser Name and configuration of the parser, so different readers of one file get separate entries
+     * @param loader Parses the file on a miss
+     * @return Parsed LinkData objects
+     * @throws IOException If the source cannot be read or parsed
+     */
+    public List<LinkData> linkData(String filePath, String parser, Loader<LinkData> loader) throws IOException {
+        Entry<LinkData> entry = new Entry<>(filePath, KIND_LINK_DATA + ":" + parser) {
+            @Override
+            LinkData readRecord(DataInputStream in) throws IOException {
+                return new LinkData(readString(in), readString(in), readString(in));
+            }
+
+            @Override
+            void writeRecord(DataOutputStream out, LinkData linkData) throws IOException {
+                writeString(out, linkData.getName());
+                writeString(out, linkData.getUrl());
+                writeString(out, linkData.getExpectedTitle());
+            }
+        };
+        return entry.get(loader);
+    }
+
+    /**
+     * One cache file: header with the source identity followed by the serialized records
+     */
+    private abstract class Entry<T> {
+        private final Path source;
+        private final String kind;
+        private final Path file;
+
+        Entry(String filePath, String kind) throws IOException {
+            this.source = Paths.get(filePath).toAbsolutePath().normalize();
+            this.kind = kind;
+            this.file = cacheDir.resolve(hex(sha256((source + "|" + kind).getBytes(StandardCharsets.UTF_8))) + ".cache");
+        }
+
+        abstract T readRecord(DataInputStream in) throws IOException;
+
+        abstract void writeRecord(DataOutputStream out, T record) throws IOException;
+
+        List<T> get(Loader<T> loader) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+            long size = attributes.size();
+            long modified = attributes.lastModifiedTime().toMillis();
+
+            List<T> cached = tryLoad(size, modified);
+            if (cached != null) {
+                return cached;
+            }
+            byte[] hash = contentHash(source);
+            List<T> records = loader.load();
+            store(size, modified, hash, records);
+            return records;
+        }
+
+        /**
+         * @return The cached records if the entry still matches the source, null otherwise
+         */
+        private List<T> tryLoad(long size, long modified) {
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (in.readInt() != MAGIC || in.readInt() != VERSION
+                        || !kind.equals(readString(in)) || !source.toString().equals(readString(in))) {
+                    return null;
+                }
+                long cachedSize = in.readLong();
+                long cachedModified = in.readLong();
+                byte[] cachedHash = new byte[32];
+                in.readFully(cachedHash);
+                if (cachedSize != size) {
+                    return null;
+                }
+                boolean touchedOnly = cachedModified != modified;
+                if (touchedOnly && !Arrays.equals(cachedHash, contentHash(source))) {
+                    return null;
+                }
+
+                int count = in.readInt();
+                List<T> records = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    records.add(readRecord(in));
+                }
+                if (touchedOnly) {
+                    store(size, modified, cachedHash, records);
+                }
+                return records;
+            } catch (IOException e) {
+                // Corrupt or truncated entry: treat it as a miss and rebuild it
+                return null;
+            }
+        }
+
+        private void store(long size, long modified, byte[] hash, List<T> records) throws IOException {
+            Files.createDirectories(cacheDir);
+            Path temp = Files.createTempFile(cacheDir, "entry", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeString(out, kind);
+                writeString(out, source.toString());
+                out.writeLong(size);
+                out.writeLong(modified);
+                out.write(hash);
+                out.writeInt(records.size());
+                for (T record : records) {
+                    writeRecord(out, record);
+                }
+            } catch (IOException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return LinkCharsets.decode(bytes, 0, bytes.length, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] contentHash(Path source) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(source)) {
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, n);
+            }
+        }
+        return digest.digest();
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        return newDigest().digest(bytes);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,319 @@
+package com.example.app;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Column store for large link catalogs. Instead of one LinkData object holding three Strings per
+ * link, every column is kept in primitive arrays:
+ * <ul>
+ *   <li>expected titles are dictionary encoded: each distinct title is stored once, rows hold its id</li>
+ *   <li>names are split into a dictionary-encoded prefix and a numeric suffix
+ *       ("Site 123" becomes prefix "Site " and suffix "123"), since catalog names mostly differ by a counter</li>
+ *   <li>URLs are packed back to back as UTF-8 bytes</li>
+ * </ul>
+ * A row costs 16 bytes plus its URL and suffix bytes. Rows are read through a LinkData view
+ * that decodes its fields on access. URL and suffix bytes are addressed with int offsets, so each
+ * may total up to 2 GB.
+ */
+public class LinkDataTable implements Iterable<LinkData> {
+
+    private static final int NULL_ID = -1;
+    private static final int INITIAL_ROWS = 1024;
+
+    /**
+     * Fields of a catalog entry, decoded into one reused name, url and expectedTitle slot array;
+     * name and url are required, as in JsonLinkDataReader
+     */
+    private static final JsonBinding<String[]> BINDING = new JsonBinding<String[]>()
+            .requiredField("name", (fields, name) -> fields[0] = name)
+            .requiredField("url", (fields, url) -> fields[1] = url)
+            .field("expectedTitle", (fields, title) -> fields[2] = title);
+
+    private final Dictionary titles = new Dictionary();
+    private final Dictionary namePrefixes = new Dictionary();
+
+    private int size = 0;
+    private int[] titleIds = new int[INITIAL_ROWS];
+    private int[] namePrefixIds = new int[INITIAL_ROWS];
+    private int[] nameSuffixEnds = new int[INITIAL_ROWS];
+    private int[] urlEnds = new int[INITIAL_ROWS];
+    private byte[] nameSuffixBytes = new byte[INITIAL_ROWS * 4];
+    private byte[] urlBytes = new byte[INITIAL_ROWS * 32];
+
+    /**
+     * Loads a JSON catalog. The parser writes the fields of each entry into one reused slot array
+     * that is copied into the columns, so no LinkData, builder or stream element is created per
+     * entry; only the decoded field Strings are, and they die young.
+     * @param filePath Path to the JSON file
+     * @return Table holding all entries in file order
+     * @throws IOException If file reading or JSON parsing fails
+     */
+    public static LinkDataTable load(String filePath) throws IOException {
+        LinkDataTable table = new LinkDataTable();
+        String[] fields = new String[3];
+        try (JsonLinkParser parser = new JsonLinkParser(LinkFiles.openStream(filePath), LinkCharsets.DEFAULT_CHARSET)) {
+            while (true) {
+                Arrays.fill(fields, null);
+                if (!parser.next(BINDING, fields)) {
+                    break;
+                }
+                table.add(fields[0], fields[1], fields[2]);
+            }
+        }
+        table.trimToSize();
+        return table;
+    }
+
+    /**
+     * Appends a row
+     * @param link Link to copy into the table
+     */
+    public void add(LinkData link) {
+        add(link.getName(), link.getUrl(), link.getExpectedTitle());
+    }
+
+    /**
+     * Appends a row
+     * @param name Display name, may be null
+     * @param url URL, required
+     * @param expectedTitle Expected page title, may be null
+     */
+    public void add(String name, String url, String expectedTitle) {
+        if (url == null) {
+            throw new IllegalArgumentException("URL is required");
+        }
+        if (size == urlEnds.length) {
+            // A trimmed empty table has zero-length columns
+            int capacity = Math.max(INITIAL_ROWS, size * 2);
+            titleIds = Arrays.copyOf(titleIds, capacity);
+            namePrefixIds = Arrays.copyOf(namePrefixIds, capacity);
+            nameSuffixEnds = Arrays.copyOf(nameSuffixEnds, capacity);
+            urlEnds = Arrays.copyOf(urlEnds, capacity);
+        }
+
+        titleIds[size] = titles.idOf(expectedTitle);
+
+        int suffixStart = size == 0 ? 0 : nameSuffixEnds[size - 1];
+        if (name == null) {
+            namePrefixIds[size] = NULL_ID;
+            nameSuffixEnds[size] = suffixStart;
+        } else {
+            int split = name.length();
+            while (split > 0 && name.charAt(split - 1) >= '0' && name.charAt(split - 1) <= '9') {
+                split--;
+            }
+            namePrefixIds[size] = namePrefixes.idOf(name.substring(0, split));
+            int digits = name.length() - split;
+            nameSuffixBytes = ensureCapacity(nameSuffixBytes, suffixStart, digits, INITIAL_ROWS * 4);
+            for (int i = 0; i < digits; i++) {
+                nameSuffixBytes[suffixStart + i] = (byte) name.charAt(split + i);
+            }
+            nameSuffixEnds[size] = suffixStart + digits;
+        }
+
+        int urlStart = size == 0 ? 0 : urlEnds[size - 1];
+        byte[] encoded = url.getBytes(StandardCharsets.UTF_8);
+        urlBytes = ensureCapacity(urlBytes, urlStart, encoded.length, INITIAL_ROWS * 32);
+        System.arraycopy(encoded, 0, urlBytes, urlStart, encoded.length);
+        urlEnds[size] = urlStart + encoded.length;
+
+        size++;
+    }
+
+    /**
+     * Releases the spare capacity of all columns and the lookup maps used while adding
+     */
+    public void trimToSize() {
+        titleIds = Arrays.copyOf(titleIds, size);
+        namePrefixIds = Arrays.copyOf(namePrefixIds, size);
+        nameSuffixEnds = Arrays.copyOf(nameSuffixEnds, size);
+        urlEnds = Arrays.copyOf(urlEnds, size);
+        nameSuffixBytes = Arrays.copyOf(nameSuffixBytes, size == 0 ? 0 : nameSuffixEnds[size - 1]);
+        urlBytes = Arrays.copyOf(urlBytes, size == 0 ? 0 : urlEnds[size - 1]);
+        titles.trimToSize();
+        namePrefixes.trimToSize();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getName(int row) {
+        checkRow(row);
+        int prefixId = namePrefixIds[row];
+        if (prefixId == NULL_ID) {
+            return null;
+        }
+        String prefix = namePrefixes.get(prefixId);
+        int start = row == 0 ? 0 : nameSuffixEnds[row - 1];
+        int end = nameSuffixEnds[row];
+        if (start == end) {
+            return prefix;
+        }
+        return prefix.concat(new String(nameSuffixBytes, start, end - start, StandardCharsets.ISO_8859_1));
+    }
+
+    public String getUrl(int row) {
+        checkRow(row);
+        int start = row == 0 ? 0 : urlEnds[row - 1];
+        return LinkCharsets.decode(urlBytes, start, urlEnds[row] - start, StandardCharsets.UTF_8);
+    }
+
+    public String getExpectedTitle(int row) {
+        checkRow(row);
+        int titleId = titleIds[row];
+        return titleId == NULL_ID ? null : titles.get(titleId);
+    }
+
+    /**
+     * @param row Row index
+     * @return LinkData view of the row; its getters read from the table
+     */
+    public LinkData get(int row) {
+        checkRow(row);
+        return new RowView(row);
+    }
+
+    /**
+     * Iterates the rows in order through a single reused view (flyweight): the returned
+     * LinkData is only valid until the next call to next(). Use get(row) to keep a row.
+     */
+    @Override
+    public Iterator<LinkData> iterator() {
+        return new Iterator<LinkData>() {
+            private final RowView view = new RowView(-1);
+
+            @Override
+            public boolean hasNext() {
+                return view.row + 1 < size;
+            }
+
+            @Override
+            public LinkData next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                view.row++;
+                return view;
+            }
+        };
+    }
+
+    /**
+     * @return Approximate number of bytes held by the columns and dictionaries
+     */
+    public long memoryFootprint() {
+        long bytes = 4L * (titleIds.length + namePrefixIds.length + nameSuffixEnds.length + urlEnds.length);
+        bytes += nameSuffixBytes.length + urlBytes.length;
+        return bytes + titles.memoryFootprint() + namePrefixes.memoryFootprint();
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of " + size);
+        }
+    }
+
+    private static byte[] ensureCapacity(byte[] bytes, int used, int extra, int minCapacity) {
+        long needed = (long) used + extra;
+        if (needed > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("LinkDataTable column exceeds 2 GB");
+        }
+        if (needed <= bytes.length) {
+            return bytes;
+        }
+        long grown = Math.max(needed, Math.max(minCapacity, (long) bytes.length * 2));
+        return Arrays.copyOf(bytes, (int) Math.min(grown, Integer.MAX_VALUE - 8));
+    }
+
+    /**
+     * LinkData whose fields are read from a table row
+     */
+    private class RowView extends LinkData {
+        private int row;
+
+        RowView(int row) {
+            super(null, null, null);
+            this.row = row;
+        }
+
+        @Override
+        public String getName() {
+            return LinkDataTable.this.getName(row);
+        }
+
+        @Override
+        public String getUrl() {
+            return LinkDataTable.this.getUrl(row);
+        }
+
+        @Override
+        public String getExpectedTitle() {
+            return LinkDataTable.this.getExpectedTitle(row);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("LinkData{name='%s', url='%s', expectedTitle='%s'}",
+                               getName(), getUrl(), getExpectedTitle());
+        }
+    }
+
+    /**
+     * Distinct strings of a column and their ids
+     */
+    private static class Dictionary {
+        private Map<String, Integer> ids = new HashMap<>();
+        private String[] values = new String[16];
+        private int count = 0;
+
+        int idOf(String value) {
+            if (value == null) {
+                return NULL_ID;
+            }
+            if (ids == null) {
+                rebuildIndex();
+            }
+            Integer id = ids.get(value);
+            if (id == null) {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, Math.max(16, count * 2));
+                }
+                id = count;
+                values[count++] = value;
+                ids.put(value, id);
+            }
+            return id;
+        }
+
+        String get(int id) {
+            return values[id];
+        }
+
+        void trimToSize() {
+            values = Arrays.copyOf(values, count);
+            ids = null;
+        }
+
+        long memoryFootprint() {
+            long bytes = 16 + 4L * values.length;
+            for (int i = 0; i < count; i++) {
+                bytes += 40 + values[i].length();
+            }
+            return bytes;
+        }
+
+        private void rebuildIndex() {
+            ids = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                ids.put(values[i], i);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.app;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the heap used by a List of LinkData objects with a LinkDataTable holding the same
+ * generated catalog, and the time to iterate both.
+ * Usage: LinkDataTableComparison [entryCount]
+ */
+public class LinkDataTableComparison {
+
+    private static final int DISTINCT_TITLES = 50;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.printf("=== %,d catalog entries ===%n", count);
+
+        long before = usedHeap();
+        List<LinkData> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(new LinkData.Builder()
+                    .withName(name(i))
+                    .withUrl(url(i))
+                    .withExpectedTitle(title(i))
+                    .build());
+        }
+        long listBytes = usedHeap() - before;
+        long listNanos = iterate(list);
+        int listSize = list.size();
+        list = null;
+
+        before = usedHeap();
+        LinkDataTable table = new LinkDataTable();
+        for (int i = 0; i < count; i++) {
+            table.add(name(i), url(i), title(i));
+        }
+        table.trimToSize();
+        long tableBytes = usedHeap() - before;
+        long tableNanos = iterate(table);
+
+        System.out.printf("List<LinkData>  %,15d bytes on heap, iteration %8.1f ms%n",
+                          listBytes, listNanos / 1_000_000.0);
+        System.out.printf("LinkDataTable   %,15d bytes on heap, iteration %8.1f ms%n",
+                          tableBytes, tableNanos / 1_000_000.0);
+        System.out.printf("Rows: %,d / %,d%n", listSize, table.size());
+    }
+
+    private static String name(int i) {
+        return "Site " + i;
+    }
+
+    private static String url(int i) {
+        return "https://example-" + i + ".com/docs";
+    }
+
+    private static String title(int i) {
+        return "Example Domain " + (i % DISTINCT_TITLES);
+    }
+
+    /**
+     * Best of three passes reading every field of every row
+     */
+    private static long iterate(Iterable<LinkData> links) {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for (LinkData link : links) {
+                checksum += link.getName().length() + link.getUrl().length() + link.getExpectedTitle().length();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (checksum == 0) {
+            System.out.println("Empty catalog");
+        }
+        return best;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
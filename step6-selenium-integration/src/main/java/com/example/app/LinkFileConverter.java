@@ -0,0 +1,66 @@
+package com.example.app;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Converts TXT, CSV or JSON link files (plain or compressed) into the binary .lnkb format.
+ * JSON keeps name, url and expectedTitle; only url is required, so url-only lists convert too.
+ * TXT and CSV only carry URLs.
+ * Usage: LinkFileConverter input output.lnkb
+ */
+public class LinkFileConverter {
+
+    /**
+     * Fields of a JSON link, decoded into name, url and expectedTitle slots. Unlike JsonLinkDataReader
+     * only the url is required: the binary format stores a missing name as null.
+     */
+    private static final JsonBinding<String[]> BINDING = new JsonBinding<String[]>()
+            .field("name", (fields, name) -> fields[0] = name)
+            .requiredField("url", (fields, url) -> fields[1] = url)
+            .field("expectedTitle", (fields, title) -> fields[2] = title);
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: LinkFileConverter <input file> <output.lnkb>");
+            System.exit(2);
+        }
+        try {
+            int count = convert(args[0], args[1]);
+            System.out.println("Converted " + count + " links to " + args[1]);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Conversion failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @param inputPath Source link file in any format LinkReaderFactory can read
+     * @param outputPath Target .lnkb file
+     * @return Number of links written
+     * @throws IOException If reading or writing fails
+     */
+    public static int convert(String inputPath, String outputPath) throws IOException {
+        LinkReader reader = LinkReaderFactory.getReaderForFile(inputPath);
+        Stream<LinkData> links = reader instanceof JsonLinkReader
+                ? streamJsonLinks(inputPath)
+                : reader.streamLinks(inputPath).map(url -> new LinkData(null, url));
+        try (links) {
+            Iterator<LinkData> iterator = links.iterator();
+            BinaryLinkFile.write(outputPath, iterator);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        try (BinaryLinkFile written = BinaryLinkFile.open(outputPath)) {
+            return written.size();
+        }
+    }
+
+    private static Stream<LinkData> streamJsonLinks(String filePath) throws IOException {
+        JsonLinkParser parser = new JsonLinkParser(LinkFiles.openStream(filePath), LinkCharsets.DEFAULT_CHARSET);
+        return LinkStreams.of(parser.records(BINDING, () -> new String[3],
+                                             fields -> new LinkData(fields[0], fields[1], fields[2])), parser);
+    }
+}
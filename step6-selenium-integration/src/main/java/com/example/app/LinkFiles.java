@@ -0,0 +1,118 @@
+package com.example.app;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Opens link files, transparently decompressing gzip (.gz) and zip archives with the JDK codecs.
+ * Compression is detected from the magic bytes, not the file name.
+ */
+final class LinkFiles {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private LinkFiles() {
+    }
+
+    /**
+     * Opens a link file for reading. Gzip content is decompressed as a stream; for a zip
+     * archive the stream covers the first file entry.
+     * @param filePath Path to a plain, gzip or zip link file
+     * @return Buffered stream of the (decompressed) file content
+     * @throws IOException If the file cannot be opened or the archive has no file entry
+     */
+    static InputStream openStream(String filePath) throws IOException {
+        InputStream in = new BufferedInputStream(new FileInputStream(filePath), BUFFER_SIZE);
+        try {
+            switch (compressionOf(in)) {
+                case GZIP:
+                    return new GZIPInputStream(in, BUFFER_SIZE);
+                case ZIP:
+                    ZipInputStream zip = new ZipInputStream(in);
+                    if (nextFileEntry(zip) == null) {
+                        throw new IOException("Zip archive has no file entry: " + filePath);
+                    }
+                    return zip;
+                case EMPTY_ZIP:
+                    throw new IOException("Zip archive is empty: " + filePath);
+                default:
+                    return in;
+            }
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return true if the file content is gzip or zip compressed
+     */
+    static boolean isCompressed(String filePath) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(filePath), 16)) {
+            return compressionOf(in) != Compression.NONE;
+        }
+    }
+
+    /**
+     * Extension that identifies the link format of a file: "links.csv.gz" gives "csv",
+     * and for a zip archive the extension of its first entry is used
+     * @return Lowercase extension without the dot, empty if there is none
+     */
+    static String formatExtension(String filePath) throws IOException {
+        String fileName = Paths.get(filePath).getFileName().toString().toLowerCase();
+        if (fileName.endsWith(".gz")) {
+            fileName = fileName.substring(0, fileName.length() - 3);
+        } else if (fileName.endsWith(".zip")) {
+            try (ZipInputStream zip = new ZipInputStream(new FileInputStream(filePath))) {
+                ZipEntry entry = nextFileEntry(zip);
+                fileName = entry == null ? "" : Paths.get(entry.getName()).getFileName().toString().toLowerCase();
+            }
+        }
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? "" : fileName.substring(dot + 1);
+    }
+
+    private enum Compression { NONE, GZIP, ZIP, EMPTY_ZIP }
+
+    /**
+     * Gzip: magic 1F 8B and the deflate method byte. Zip: the local file header signature
+     * PK\3\4, or the end of central directory signature PK\5\6 that starts an empty archive.
+     * A text file that merely starts with "PK" is neither.
+     */
+    private static Compression compressionOf(InputStream in) throws IOException {
+        in.mark(4);
+        byte[] head = new byte[4];
+        int length = 0;
+        int n;
+        while (length < head.length && (n = in.read(head, length, head.length - length)) > 0) {
+            length += n;
+        }
+        in.reset();
+        if (length >= 3 && (head[0] & 0xFF) == 0x1F && (head[1] & 0xFF) == 0x8B && head[2] == 8) {
+            return Compression.GZIP;
+        }
+        if (length == 4 && head[0] == 'P' && head[1] == 'K') {
+            if (head[2] == 3 && head[3] == 4) {
+                return Compression.ZIP;
+            }
+            if (head[2] == 5 && head[3] == 6) {
+                return Compression.EMPTY_ZIP;
+            }
+        }
+        return Compression.NONE;
+    }
+
+    private static ZipEntry nextFileEntry(ZipInputStream zip) throws IOException {
+        ZipEntry entry;
+        do {
+            entry = zip.getNextEntry();
+        } while (entry != null && entry.isDirectory());
+        return entry;
+    }
+}
@@ -1,8 +1,64 @@
 package com.example.app;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface LinkReader {
-    List<String> readLinks(String filePath) throws IOException;
-}
\ No newline at end of file
+
+    /**
+     * Streams the links of a file lazily, one at a time, without holding the whole file in memory.
+     * The returned stream keeps the file open: always close it (try-with-resources).
+     * I/O and parse errors raised while consuming the stream surface as {@link UncheckedIOException}.
+     * @param filePath Path to the link file
+     * @return Lazily evaluated stream of links
+     * @throws IOException If the file cannot be opened
+     */
+    Stream<String> streamLinks(String filePath) throws IOException;
+
+    /**
+     * File extensions (lowercase, without the dot) this reader is registered for in LinkReaderFactory
+     * @return Handled extensions, empty for readers that are only created explicitly
+     */
+    default Set<String> fileExtensions() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Content sniffing hook used by LinkReaderFactory when the extension is unknown
+     * @param head First bytes of the file
+     * @param length Number of valid bytes in head
+     * @return true if the content looks like this reader's format
+     */
+    default boolean canRead(byte[] head, int length) {
+        return false;
+    }
+
+    /**
+     * Identifies what this reader extracts from a file, used by LinkCache to tell parse results
+     * apart. Readers with settings that change the links they return (column, charset, ...)
+     * must include them, so that differently configured readers do not share cache entries.
+     * @return Key of the reader type and its configuration
+     */
+    default String cacheKey() {
+        return getClass().getName();
+    }
+
+    /**
+     * Reads all links of a file into a list
+     * @param filePath Path to the link file
+     * @return List of links in file order
+     * @throws IOException If file reading or parsing fails
+     */
+    default List<String> readLinks(String filePath) throws IOException {
+        try (Stream<String> links = streamLinks(filePath)) {
+            return links.collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -1,16 +1,97 @@
 package com.example.app;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.stream.Stream;
+
+/**
+ * Registry-based factory for LinkReaders. Readers are discovered once through ServiceLoader
+ * (META-INF/services/com.example.app.LinkReader), so extra formats can be plugged in by adding
+ * a jar to the classpath. The readers are stateless and every call hands out the same shared instance.
+ */
 public class LinkReaderFactory {
+
+    private static final int SNIFF_SIZE = 512;
+
+    /**
+     * Lazily initialised, thread-safe holder of the discovered readers
+     */
+    private static class Registry {
+        static final List<LinkReader> READERS;
+        static final Map<String, LinkReader> BY_EXTENSION;
+
+        static {
+            List<LinkReader> readers = new ArrayList<>();
+            Map<String, LinkReader> byExtension = new HashMap<>();
+            for (LinkReader reader : ServiceLoader.load(LinkReader.class, LinkReaderFactory.class.getClassLoader())) {
+                readers.add(reader);
+                for (String extension : reader.fileExtensions()) {
+                    byExtension.putIfAbsent(extension.toLowerCase(), reader);
+                }
+            }
+            READERS = Collections.unmodifiableList(readers);
+            BY_EXTENSION = Collections.unmodifiableMap(byExtension);
+        }
+    }
+
     public static LinkReader getReader(String fileExtension) {
-        switch (fileExtension.toLowerCase()) {
-            case "txt":
-                return new TxtLinkReader();
-            case "csv":
-                return new CsvLinkReader();
-            case "json":
-                return new JsonLinkReader();
-            default:
-                throw new IllegalArgumentException("Unsupported file type: " + fileExtension);
+        LinkReader reader = Registry.BY_EXTENSION.get(fileExtension.toLowerCase());
+        if (reader == null) {
+            throw new IllegalArgumentException("Unsupported file type: " + fileExtension);
+        }
+        return reader;
+    }
+
+    /**
+     * Picks the reader for a file: by extension when it is a registered one, otherwise by
+     * sniffing the first bytes of the content (for .dat files, files without extension, ...).
+     * Gzip and zip files are looked through: "links.csv.gz" is read as CSV.
+     * @param filePath Path to the link file
+     * @return Shared reader instance for the file's format
+     * @throws IOException If the file cannot be read
+     * @throws IllegalArgumentException If no registered reader recognises the content
+     */
+    public static LinkReader getReaderForFile(String filePath) throws IOException {
+        LinkReader reader = Registry.BY_EXTENSION.get(LinkFiles.formatExtension(filePath));
+        if (reader != null) {
+            return reader;
+        }
+
+        byte[] head = new byte[SNIFF_SIZE];
+        int length = readHead(filePath, head);
+        for (LinkReader candidate : Registry.READERS) {
+            if (candidate.canRead(head, length)) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported file content: " + filePath);
+    }
+
+    /**
+     * Picks the reader for the file and streams it lazily.
+     * The caller must close the returned stream.
+     * @param filePath Path to the link file
+     * @return Lazily evaluated stream of links
+     * @throws IOException If the file cannot be opened
+     */
+    public static Stream<String> streamLinks(String filePath) throws IOException {
+        return getReaderForFile(filePath).streamLinks(filePath);
+    }
+
+    private static int readHead(String filePath, byte[] head) throws IOException {
+        try (InputStream in = LinkFiles.openStream(filePath)) {
+            int length = 0;
+            int n;
+            while (length < head.length && (n = in.read(head, length, head.length - length)) > 0) {
+                length += n;
+            }
+            return length;
         }
     }
-}
\ No newline at end of file
+}
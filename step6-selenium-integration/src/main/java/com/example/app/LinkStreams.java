@@ -0,0 +1,46 @@
+package com.example.app;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Helpers shared by the LinkReader implementations to expose file-backed, lazily evaluated streams
+ */
+final class LinkStreams {
+
+    private LinkStreams() {
+    }
+
+    /**
+     * Wraps an iterator into a sequential stream that closes the given resource when the stream is closed
+     * @param links Iterator producing the links
+     * @param resource Underlying file resource
+     * @return Ordered, lazily evaluated stream
+     */
+    static <T> Stream<T> of(Iterator<T> links, Closeable resource) {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(links,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(closer(resource));
+    }
+
+    /**
+     * Adapts a Closeable to a Stream close handler
+     * @param resource Resource to close
+     * @return Close handler rethrowing I/O failures unchecked
+     */
+    static Runnable closer(Closeable resource) {
+        return () -> {
+            try {
+                resource.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+}
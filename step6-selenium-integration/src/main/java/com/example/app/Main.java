@@ -1,12 +1,25 @@
 package com.example.app;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class Main {
     
     private static final String DATA_DIR = "java_project/data/";
+    private static final LinkCache LINK_CACHE = new LinkCache(DATA_DIR + ".link-cache");
+    private static final UrlDeduplicator DEDUPLICATOR = new UrlDeduplicator();
+    private static final String VERIFIED_URLS_FILE = DATA_DIR + "verified-urls.bloom";
+    private static final String VERIFIED_TITLES_FILE = DATA_DIR + "verified-titles.bloom";
+    /** Heap for the bit arrays of each filter; about 6 MB per million links at the default rate */
+    private static final long VERIFIED_MAX_MEMORY_BYTES = Long.getLong("verified.maxMemoryBytes", 256L * 1024 * 1024);
+    private static final double VERIFIED_FALSE_POSITIVE_RATE = parseRate(System.getProperty("verified.falsePositiveRate"));
     
     public static void main(String[] args) {
         System.out.println("=== Step 6: Selenium Integration ===");
@@ -21,21 +34,44 @@ public class Main {
             List<LinkData> enhancedLinks = readEnhancedJsonData();
             Logger.getInstance().log("Enhanced JSON links found: " + enhancedLinks.size());
             
+            // Links that passed in recent runs are skipped (or opened last with --recheck).
+            // A plain open says nothing about the title, so title checks are tracked separately
+            VerifiedUrlFilter verifiedUrls = loadVerifiedUrls(VERIFIED_URLS_FILE, allLinks.size());
+            VerifiedUrlFilter verifiedTitles = loadVerifiedUrls(VERIFIED_TITLES_FILE, enhancedLinks.size());
+            boolean recheck = Arrays.asList(args).contains("--recheck");
+            List<String> recentLinks = new ArrayList<>();
+            List<String> freshLinks = splitRecentlyVerified(allLinks, link -> link, verifiedUrls, recentLinks);
+            List<LinkData> recentEnhancedLinks = new ArrayList<>();
+            List<LinkData> freshEnhancedLinks = splitRecentlyVerified(enhancedLinks, LinkData::getUrl,
+                                                                      verifiedTitles, recentEnhancedLinks);
+            
             // NEW: Use Selenium instead of Desktop API
             SeleniumLinkOpener opener = new SeleniumLinkOpener();
             
             // Open regular links first (TXT, CSV, basic JSON)
             Logger.getInstance().log("\n=== Opening Basic Links ===");
-            for (String link : allLinks) {
-                opener.openLink(link);
-                Thread.sleep(2000);
-            }
+            openLinks(opener, freshLinks, verifiedUrls);
             
             // Open enhanced JSON links with title verification
             Logger.getInstance().log("\n=== Opening Enhanced Links with Verification ===");
-            for (LinkData linkData : enhancedLinks) {
-                opener.openLinkWithVerification(linkData.getUrl(), linkData.getExpectedTitle());
-                Thread.sleep(2000);
+            openLinksWithVerification(opener, freshEnhancedLinks, verifiedTitles);
+            
+            int recentCount = recentLinks.size() + recentEnhancedLinks.size();
+            if (recentCount > 0 && recheck) {
+                Logger.getInstance().log("\n=== Re-checking Recently Verified Links ===");
+                openLinks(opener, recentLinks, verifiedUrls);
+                openLinksWithVerification(opener, recentEnhancedLinks, verifiedTitles);
+            } else if (recentCount > 0) {
+                VerifiedUrlFilter skipping = verifiedUrls != null ? verifiedUrls : verifiedTitles;
+                Logger.getInstance().log("Skipped links verified in the last " + skipping.window().toHours()
+                                         + "h: " + recentCount + " (use --recheck to open them)");
+            }
+            saveVerifiedUrls(verifiedUrls, VERIFIED_URLS_FILE);
+            saveVerifiedUrls(verifiedTitles, VERIFIED_TITLES_FILE);
+            
+            // Optional: keep opening links appended to links.txt until interrupted
+            if (Arrays.asList(args).contains("--follow")) {
+                followNewLinks(opener);
             }
             
             // Clean up Selenium resources
@@ -54,26 +90,147 @@ public class Main {
         System.out.println("Check screenshots in: java_project/screenshots/");
     }
     
+    private static void followNewLinks(SeleniumLinkOpener opener) throws IOException {
+        Logger.getInstance().log("\n=== Following " + DATA_DIR + "links.txt (Ctrl+C to stop) ===");
+        try (TailingLinkReader tailingReader = new TailingLinkReader()) {
+            tailingReader.seekToEnd(DATA_DIR + "links.txt");
+            tailingReader.follow(DATA_DIR + "links.txt", link -> {
+                if (DEDUPLICATOR.add(link)) {
+                    opener.openLink(link);
+                }
+            });
+        }
+    }
+    
+    private static void openLinks(SeleniumLinkOpener opener, List<String> links,
+                                  VerifiedUrlFilter verifiedUrls) throws InterruptedException {
+        for (String link : links) {
+            if (opener.openLink(link) && verifiedUrls != null) {
+                verifiedUrls.markVerified(link);
+            }
+            Thread.sleep(2000);
+        }
+    }
+    
+    private static void openLinksWithVerification(SeleniumLinkOpener opener, List<LinkData> links,
+                                                  VerifiedUrlFilter verifiedTitles) throws InterruptedException {
+        for (LinkData linkData : links) {
+            if (opener.openLinkWithVerification(linkData.getUrl(), linkData.getExpectedTitle()) && verifiedTitles != null) {
+                verifiedTitles.markVerified(linkData.getUrl());
+            }
+            Thread.sleep(2000);
+        }
+    }
+    
+    /**
+     * Moves the items whose URL passed within the filter window into recent
+     * @return The items that still need to be opened, in their original order
+     */
+    private static <T> List<T> splitRecentlyVerified(List<T> items, Function<T, String> url,
+                                                     VerifiedUrlFilter verifiedUrls, List<T> recent) {
+        List<T> fresh = new ArrayList<>(items.size());
+        for (T item : items) {
+            if (verifiedUrls != null && verifiedUrls.mightBeVerified(url.apply(item))) {
+                recent.add(item);
+            } else {
+                fresh.add(item);
+            }
+        }
+        return fresh;
+    }
+    
+    /**
+     * @param filePath Filter file of earlier runs
+     * @param inventory Number of links the filter has to hold per generation
+     * @return The filter, or null if one that large does not fit the memory limit
+     */
+    private static VerifiedUrlFilter loadVerifiedUrls(String filePath, int inventory) {
+        // Rounded up to a power of two: the saved filter stays usable while the inventory grows a little
+        long expectedUrls = Math.max(1024, Long.highestOneBit(Math.max(1, inventory) - 1L) << 1);
+        VerifiedUrlFilter verifiedUrls;
+        try {
+            verifiedUrls = VerifiedUrlFilter.builder()
+                    .withExpectedUrls(expectedUrls)
+                    .withFalsePositiveRate(VERIFIED_FALSE_POSITIVE_RATE)
+                    .withMaxMemoryBytes(VERIFIED_MAX_MEMORY_BYTES)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            Logger.getInstance().log("Warning: " + e.getMessage() + " (-Dverified.maxMemoryBytes, "
+                                     + "-Dverified.falsePositiveRate); checking all links without skipping");
+            return null;
+        }
+        try {
+            if (!verifiedUrls.load(filePath)) {
+                Logger.getInstance().log("No matching " + filePath + " from earlier runs, checking all links");
+            }
+        } catch (IOException e) {
+            Logger.getInstance().log("Warning: Could not read " + filePath + ", checking all links: " + e.getMessage());
+        }
+        return verifiedUrls;
+    }
+    
+    /**
+     * @param value Value of verified.falsePositiveRate, or null
+     * @return The rate, 1% if it is unset or invalid
+     */
+    private static double parseRate(String value) {
+        if (value == null) {
+            return 0.01;
+        }
+        try {
+            double rate = Double.parseDouble(value);
+            if (rate > 0 && rate < 1) {
+                return rate;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        System.err.println("Invalid verified.falsePositiveRate '" + value + "', using 0.01");
+        return 0.01;
+    }
+    
+    private static void saveVerifiedUrls(VerifiedUrlFilter verifiedUrls, String filePath) {
+        if (verifiedUrls == null) {
+            return;
+        }
+        try {
+            verifiedUrls.save(filePath);
+        } catch (IOException e) {
+            Logger.getInstance().log("Warning: Could not save " + filePath + ": " + e.getMessage());
+        }
+    }
+    
     private static List<LinkData> readEnhancedJsonData() throws IOException {
-        JsonLinkDataReader jsonDataReader = new JsonLinkDataReader();
+        JsonLinkDataReader jsonDataReader = new JsonLinkDataReader(LINK_CACHE);
         return jsonDataReader.readLinkData(DATA_DIR + "links.json");
     }
     
     private static List<String> readAllLinks() throws IOException {
         List<String> allLinks = new ArrayList<>();
         
-        // Read from TXT file
-        LinkReader txtReader = LinkReaderFactory.getReader("txt");
-        allLinks.addAll(txtReader.readLinks(DATA_DIR + "links.txt"));
-        
-        // Read from CSV file
-        LinkReader csvReader = LinkReaderFactory.getReader("csv");
-        allLinks.addAll(csvReader.readLinks(DATA_DIR + "links.csv"));
+        // TXT, CSV and JSON files are read concurrently and merged in this order
+        List<Path> sources = Arrays.asList(
+                Paths.get(DATA_DIR + "links.txt"),
+                Paths.get(DATA_DIR + "links.csv"),
+                Paths.get(DATA_DIR + "links.json"));
         
-        // Read from JSON file  
-        LinkReader jsonReader = LinkReaderFactory.getReader("json");
-        allLinks.addAll(jsonReader.readLinks(DATA_DIR + "links.json"));
+        // Canonical de-duplication across all sources: each site is opened only once
+        int readCount = 0;
+        try (MultiSourceLinkReader reader = new MultiSourceLinkReader(sources.size(), LINK_CACHE);
+             Stream<SourcedLink> links = reader.streamLinks(sources)) {
+            for (SourcedLink link : (Iterable<SourcedLink>) links::iterator) {
+                readCount++;
+                if (DEDUPLICATOR.add(link.getUrl())) {
+                    allLinks.add(link.getUrl());
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
         
+        if (readCount > allLinks.size()) {
+            Logger.getInstance().log("Skipped duplicate links: " + (readCount - allLinks.size()));
+        }
         return allLinks;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,226 @@
+package com.example.app;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * TXT reader that memory-maps the file and scans the raw bytes for newlines.
+ * Blank lines are skipped and whitespace is trimmed on the bytes, so a String is only
+ * built for the bytes that actually hold a link. Large files are mapped in windows.
+ * Compressed files cannot be mapped and are decompressed as a stream instead.
+ */
+public class MappedTxtLinkReader implements LinkReader {
+
+    private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final int windowSize;
+    private final Charset charset;
+
+    public MappedTxtLinkReader() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param windowSize Number of bytes mapped at a time
+     */
+    public MappedTxtLinkReader(int windowSize) {
+        this(windowSize, LinkCharsets.DEFAULT_CHARSET);
+    }
+
+    /**
+     * @param windowSize Number of bytes mapped at a time
+     * @param charset ASCII-compatible charset of the link files (UTF-8 by default)
+     */
+    public MappedTxtLinkReader(int windowSize, Charset charset) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        this.windowSize = windowSize;
+        this.charset = LinkCharsets.requireAsciiCompatible(charset);
+    }
+
+    /**
+     * The window size only affects how the file is read, not the links
+     */
+    @Override
+    public String cacheKey() {
+        return getClass().getName() + ":" + charset.name();
+    }
+
+    @Override
+    public Stream<String> streamLinks(String filePath) throws IOException {
+        if (LinkFiles.isCompressed(filePath)) {
+            return new TxtLinkReader(charset).streamLinks(filePath).filter(link -> !link.isEmpty());
+        }
+        FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        return LinkStreams.of(new MappedLineIterator(channel, windowSize, charset), channel);
+    }
+
+    /**
+     * Loads all links into an off-heap UrlArena. Lines that are plain ASCII are copied from the
+     * mapped file into the arena byte for byte, without creating a String.
+     * @param filePath Path to the link file
+     * @return Arena holding the non-blank, trimmed lines in file order
+     * @throws IOException If the file cannot be read
+     */
+    public UrlArena readIntoArena(String filePath) throws IOException {
+        UrlArena arena = new UrlArena();
+        if (LinkFiles.isCompressed(filePath)) {
+            try (Stream<String> links = streamLinks(filePath)) {
+                links.forEach(arena::add);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return arena;
+        }
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            MappedLineIterator lines = new MappedLineIterator(channel, windowSize, charset);
+            while (lines.nextLine()) {
+                lines.addLineTo(arena);
+            }
+        }
+        return arena;
+    }
+
+    /**
+     * Iterates the non-blank, trimmed lines of a mapped file
+     */
+    private static class MappedLineIterator implements Iterator<String> {
+        private final FileChannel channel;
+        private final long fileSize;
+        private final Charset charset;
+        private int windowSize;
+        private MappedByteBuffer window;
+        private long windowStart = 0;
+        private int position = 0;
+        private byte[] scratch = new byte[256];
+        private int lineStart;
+        private int lineEnd;
+        private String next;
+
+        MappedLineIterator(FileChannel channel, int windowSize, Charset charset) throws IOException {
+            this.channel = channel;
+            this.fileSize = channel.size();
+            this.windowSize = windowSize;
+            this.charset = charset;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = nextLink();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String link = next;
+            next = null;
+            return link;
+        }
+
+        private String nextLink() throws IOException {
+            return nextLine() ? decode(lineStart, lineEnd - lineStart) : null;
+        }
+
+        /**
+         * Finds the next non-blank line and stores its trimmed bounds in lineStart and lineEnd
+         * @return false at the end of the file
+         */
+        boolean nextLine() throws IOException {
+            while (true) {
+                if (window == null || position >= window.limit()) {
+                    long nextStart = windowStart + position;
+                    if (nextStart >= fileSize) {
+                        return false;
+                    }
+                    map(nextStart);
+                }
+
+                int limit = window.limit();
+                int end = position;
+                while (end < limit && window.get(end) != '\n') {
+                    end++;
+                }
+
+                boolean lastWindow = windowStart + limit >= fileSize;
+                if (end == limit && !lastWindow) {
+                    // The line continues past this window: remap starting at the line,
+                    // growing the window if a single line is larger than it
+                    if (position == 0) {
+                        windowSize = (int) Math.min(Integer.MAX_VALUE - 8L, windowSize * 2L);
+                    }
+                    map(windowStart + position);
+                    continue;
+                }
+
+                int start = position;
+                position = end < limit ? end + 1 : end;
+
+                while (start < end && isWhitespace(window.get(start))) {
+                    start++;
+                }
+                while (end > start && isWhitespace(window.get(end - 1))) {
+                    end--;
+                }
+                if (start < end) {
+                    lineStart = start;
+                    lineEnd = end;
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Stores the current line in the arena, copying the mapped bytes directly when they are ASCII
+         */
+        void addLineTo(UrlArena arena) {
+            boolean ascii = true;
+            for (int i = lineStart; ascii && i < lineEnd; i++) {
+                ascii = window.get(i) >= 0;
+            }
+            if (ascii) {
+                arena.addLatin1(window, lineStart, lineEnd - lineStart);
+            } else {
+                arena.add(decode(lineStart, lineEnd - lineStart));
+            }
+        }
+
+        private void map(long start) throws IOException {
+            long length = Math.min(windowSize, fileSize - start);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            windowStart = start;
+            position = 0;
+        }
+
+        private String decode(int offset, int length) {
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            window.position(offset);
+            window.get(scratch, 0, length);
+            return LinkCharsets.decode(scratch, 0, length, charset);
+        }
+
+        private static boolean isWhitespace(byte b) {
+            // Same rule as String.trim(): every control character and the space
+            return (b & 0xFF) <= ' ';
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.app;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Reads many link files at once. A directory or glob is expanded to its files, every file is
+ * read on a worker thread with the reader LinkReaderFactory picks for it, and the results are
+ * merged into one stream in file order. Small files are latency bound, so the files are read
+ * concurrently and the merged stream starts as soon as the first file is done.
+ */
+public class MultiSourceLinkReader implements Closeable {
+
+    private static final int MAX_DEFAULT_THREADS = 16;
+
+    private final ExecutorService executor;
+    private final LinkCache cache;
+
+    public MultiSourceLinkReader() {
+        this(Math.min(MAX_DEFAULT_THREADS, Runtime.getRuntime().availableProcessors() * 4), null);
+    }
+
+    /**
+     * @param threads Number of files read at the same time
+     * @param cache Cache for parsed files, or null to always parse
+     */
+    public MultiSourceLinkReader(int threads, LinkCache cache) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "link-ingestion-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cache = cache;
+    }
+
+    /**
+     * Expands a directory or glob to the matching regular files, sorted by path.
+     * A directory yields its direct, non-hidden files; a glob such as "data/teams/*.csv" or
+     * "data/**.txt" is matched below its longest directory prefix without wildcards.
+     * @param directoryOrGlob Directory, single file or glob pattern
+     * @return Matching files
+     * @throws IOException If a directory cannot be listed
+     */
+    public static List<Path> resolve(String directoryOrGlob) throws IOException {
+        if (!isGlob(directoryOrGlob)) {
+            Path path = Paths.get(directoryOrGlob);
+            if (!Files.isDirectory(path)) {
+                List<Path> single = new ArrayList<>();
+                single.add(path);
+                return single;
+            }
+            try (Stream<Path> files = Files.list(path)) {
+                return files.filter(Files::isRegularFile)
+                            .filter(file -> !file.getFileName().toString().startsWith("."))
+                            .sorted()
+                            .collect(Collectors.toList());
+            }
+        }
+
+        String normalized = directoryOrGlob.replace('\\', '/');
+        String[] segments = normalized.split("/");
+        StringBuilder base = new StringBuilder();
+        int firstGlob = 0;
+        while (firstGlob < segments.length && !isGlob(segments[firstGlob])) {
+            base.append(segments[firstGlob]).append('/');
+            firstGlob++;
+        }
+        Path baseDir = Paths.get(base.length() == 0 ? "." : base.toString());
+        String pattern = String.join("/", Arrays.copyOfRange(segments, firstGlob, segments.length));
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+        int depth = pattern.contains("**") ? Integer.MAX_VALUE : segments.length - firstGlob;
+
+        if (!Files.isDirectory(baseDir)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.walk(baseDir, depth)) {
+            return files.filter(Files::isRegularFile)
+                        .filter(file -> matcher.matches(baseDir.relativize(file)))
+                        .sorted()
+                        .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Reads all files matching a directory or glob
+     * @param directoryOrGlob Directory, single file or glob pattern
+     * @return Links of all files, in file order, each with its source
+     * @throws IOException If the pattern cannot be expanded
+     */
+    public Stream<SourcedLink> streamLinks(String directoryOrGlob) throws IOException {
+        return streamLinks(resolve(directoryOrGlob));
+    }
+
+    /**
+     * Starts reading all files concurrently and returns their links merged in the given file order.
+     * Read errors surface as {@link UncheckedIOException} naming the file when the stream reaches it.
+     * Closing the stream cancels files that have not been read yet.
+     * @param files Link files
+     * @return Links of all files, each with its source
+     */
+    public Stream<SourcedLink> streamLinks(List<Path> files) {
+        List<Future<List<String>>> results = new ArrayList<>(files.size());
+        for (Path file : files) {
+            results.add(executor.submit(() -> readFile(file)));
+        }
+        return IntStream.range(0, files.size())
+                        .boxed()
+                        .flatMap(i -> withSource(files.get(i), await(files.get(i), results.get(i))))
+                        .onClose(() -> results.forEach(result -> result.cancel(true)));
+    }
+
+    /**
+     * Stops the worker threads
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private List<String> readFile(Path file) throws IOException {
+        String filePath = file.toString();
+        LinkReader reader = LinkReaderFactory.getReaderForFile(filePath);
+        if (cache != null) {
+            reader = new CachingLinkReader(reader, cache);
+        }
+        return reader.readLinks(filePath);
+    }
+
+    private static List<String> await(Path file, Future<List<String>> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new IOException("Interrupted while reading " + file, e));
+        } catch (CancellationException e) {
+            throw new UncheckedIOException(new IOException("Reading cancelled: " + file, e));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) cause;
+            }
+            throw new UncheckedIOException(new IOException("Error reading " + file + ": " + cause.getMessage(), cause));
+        }
+    }
+
+    private static Stream<SourcedLink> withSource(Path file, List<String> links) {
+        return IntStream.range(0, links.size()).mapToObj(i -> new SourcedLink(links.get(i), file, i));
+    }
+
+    private static boolean isGlob(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == '{') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
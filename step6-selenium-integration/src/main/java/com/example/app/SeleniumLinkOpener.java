@@ -52,17 +52,19 @@ public class SeleniumLinkOpener {
     /**
      * Opens a link using Selenium WebDriver with enhanced verification and screenshots
      * @param url The URL to open
+     * @return true if the page opened
      */
-    public void openLink(String url) {
-        openLinkWithVerification(url, null);
+    public boolean openLink(String url) {
+        return openLinkWithVerification(url, null);
     }
     
     /**
      * Opens a link with optional title verification
      * @param url The URL to open
      * @param expectedTitle Expected page title (optional)
+     * @return true if the page opened and its title matched the expected one
      */
-    public void openLinkWithVerification(String url, String expectedTitle) {
+    public boolean openLinkWithVerification(String url, String expectedTitle) {
         try {
             Logger.getInstance().log("Opening: " + url);
             driver.get(url);
@@ -90,9 +92,11 @@ public class SeleniumLinkOpener {
             // Log success
             String status = titleMatches ? "✅" : "⚠️";
             Logger.getInstance().log(status + " Opened: " + url + " (Title: " + actualTitle + ")");
+            return titleMatches;
             
         } catch (Exception e) {
             Logger.getInstance().log("❌ Error opening " + url + ": " + e.getMessage());
+            return false;
         }
     }
     
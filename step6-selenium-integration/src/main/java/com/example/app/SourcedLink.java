@@ -0,0 +1,38 @@
+package com.example.app;
+
+import java.nio.file.Path;
+
+/**
+ * A link together with the file it was read from and its position in that file
+ */
+public class SourcedLink {
+    private final String url;
+    private final Path source;
+    private final int index;
+
+    public SourcedLink(String url, Path source, int index) {
+        this.url = url;
+        this.source = source;
+        this.index = index;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Path getSource() {
+        return source;
+    }
+
+    /**
+     * @return Zero-based position of the link within its source file
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return url + " (" + source.getFileName() + "#" + index + ")";
+    }
+}
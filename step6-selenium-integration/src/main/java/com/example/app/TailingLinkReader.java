@@ -0,0 +1,301 @@
+package com.example.app;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Live link source for a TXT file that keeps growing. The byte offset of the last complete line
+ * is remembered per file, so every call only reads what was appended since the previous one.
+ * A trailing line without newline is left for the next read, and a file that shrank
+ * or was replaced by another file (detected by its file key where the platform has one) is read
+ * again from the start. Appended links are decoded in bounded chunks and handed on one at a time,
+ * so neither memory nor the delay to the first link grows with the backlog.
+ */
+public class TailingLinkReader implements LinkReader, Closeable {
+
+    private static final long DEFAULT_POLL_MILLIS = 1000;
+
+    private final Map<Path, Long> offsets = new ConcurrentHashMap<>();
+    private final Map<Path, Object> fileKeys = new ConcurrentHashMap<>();
+    private final long pollMillis;
+    private final Charset charset;
+    private volatile WatchService watchService;
+    private volatile boolean closed = false;
+
+    public TailingLinkReader() {
+        this(DEFAULT_POLL_MILLIS);
+    }
+
+    /**
+     * @param pollMillis Maximum wait for a file system event before the file is checked anyway
+     */
+    public TailingLinkReader(long pollMillis) {
+        this(pollMillis, LinkCharsets.DEFAULT_CHARSET);
+    }
+
+    /**
+     * @param pollMillis Maximum wait for a file system event before the file is checked anyway
+     * @param charset ASCII-compatible charset of the link file (UTF-8 by default)
+     */
+    public TailingLinkReader(long pollMillis, Charset charset) {
+        this.pollMillis = pollMillis;
+        this.charset = LinkCharsets.requireAsciiCompatible(charset);
+    }
+
+    /**
+     * Streams the links appended since the previous call (the whole file on the first call).
+     * Links are decoded as the stream is consumed; the remembered offset moves past them once
+     * the stream has been read to the end.
+     */
+    @Override
+    public Stream<String> streamLinks(String filePath) throws IOException {
+        AppendedLines lines = new AppendedLines(normalize(filePath));
+        return LinkStreams.of(lines, lines);
+    }
+
+    /**
+     * Skips the current content, so that only links appended from now on are returned
+     * @param filePath Path to the link file
+     * @throws IOException If the file size cannot be read
+     */
+    public void seekToEnd(String filePath) throws IOException {
+        Path path = normalize(filePath);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            rememberFileKey(path);
+            offsets.put(path, lastLineEnd(channel, 0, channel.size()));
+        }
+    }
+
+    /**
+     * @param filePath Path to the link file
+     * @return Byte offset up to which the file has been read
+     */
+    public long getOffset(String filePath) {
+        return offsets.getOrDefault(normalize(filePath), 0L);
+    }
+
+    /**
+     * Blocks and hands every newly appended link to the consumer, on the calling thread,
+     * until {@link #close()} is called or the thread is interrupted
+     * @param filePath Path to the link file
+     * @param consumer Receives each new link
+     * @throws IOException If the file cannot be read or watched
+     */
+    public void follow(String filePath, Consumer<String> consumer) throws IOException {
+        Path path = normalize(filePath);
+        Path directory = path.getParent() != null ? path.getParent() : Paths.get("").toAbsolutePath();
+        Path fileName = path.getFileName();
+
+        try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+            watchService = watcher;
+            directory.register(watcher,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            readAppended(path, consumer);
+
+            while (!closed) {
+                WatchKey key = watcher.poll(pollMillis, TimeUnit.MILLISECONDS);
+                boolean changed = key == null; // timeout: check anyway in case an event was missed
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                                || fileName.equals(event.context())) {
+                            changed = true;
+                        }
+                    }
+                    key.reset();
+                }
+                if (changed && path.toFile().exists()) {
+                    readAppended(path, consumer);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // close() was called while waiting
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            watchService = null;
+        }
+    }
+
+    /**
+     * Stops a running {@link #follow(String, Consumer)}
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        WatchService watcher = watchService;
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    private void readAppended(Path path, Consumer<String> consumer) throws IOException {
+        try (AppendedLines lines = new AppendedLines(path)) {
+            while (lines.hasNext()) {
+                consumer.accept(lines.next());
+            }
+        }
+    }
+
+    /**
+     * Remembers the identity of the file, so that a replacement is noticed even if it is larger
+     * @return true if the path now refers to another file than at the previous call
+     */
+    private boolean rememberFileKey(Path path) throws IOException {
+        Object fileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        if (fileKey == null) {
+            return false; // not supported on this platform: only shrinking is detected
+        }
+        Object previous = fileKeys.put(path, fileKey);
+        return previous != null && !previous.equals(fileKey);
+    }
+
+    /**
+     * @return Offset just after the last newline in [from, to), or from if there is none
+     */
+    private static long lastLineEnd(FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long blockEnd = to;
+        while (blockEnd > from) {
+            long blockStart = Math.max(from, blockEnd - buffer.capacity());
+            buffer.clear().limit((int) (blockEnd - blockStart));
+            while (buffer.hasRemaining() && channel.read(buffer, blockStart + buffer.position()) >= 0) {
+                // fill the block
+            }
+            for (int i = buffer.position() - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    return blockStart + i + 1;
+                }
+            }
+            blockEnd = blockStart;
+        }
+        return from;
+    }
+
+    private static Path normalize(String filePath) {
+        return Paths.get(filePath).toAbsolutePath().normalize();
+    }
+
+    /**
+     * The complete lines appended to a file since the remembered offset, decoded one at a time
+     * in bounded chunks. The offset moves past them once they have all been read.
+     */
+    private class AppendedLines implements Iterator<String>, Closeable {
+        private final Path path;
+        private final FileChannel channel;
+        private final long end;
+        private final ByteLineReader reader;
+        private String next;
+        private boolean done;
+
+        AppendedLines(Path path) throws IOException {
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                long size = channel.size();
+                long offset = offsets.getOrDefault(path, 0L);
+                if (rememberFileKey(path) || size < offset) {
+                    offset = 0; // replaced or truncated
+                }
+                // Only complete lines are read; the partial last line stays for the next poll
+                end = lastLineEnd(channel, offset, size);
+                reader = new ByteLineReader(new RangeInputStream(channel, offset, end), charset);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !done) {
+                try {
+                    String line = reader.readLine(true);
+                    if (line == null) {
+                        done = true;
+                        offsets.put(path, end);
+                    } else if (!line.isEmpty()) {
+                        next = line;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String link = next;
+            next = null;
+            return link;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Stream over the byte range [start, end) of a channel, read with positional reads.
+     * Closing it leaves the channel open.
+     */
+    private static class RangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        RangeInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int n = channel.read(ByteBuffer.wrap(bytes, off, (int) Math.min(len, end - position)), position);
+            if (n < 0) {
+                return -1; // the file shrank while it was read
+            }
+            position += n;
+            return n;
+        }
+    }
+}
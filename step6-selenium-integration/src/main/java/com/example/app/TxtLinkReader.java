@@ -1,21 +1,92 @@
 package com.example.app;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public class TxtLinkReader implements LinkReader {
+
+    private final Charset charset;
+
+    public TxtLinkReader() {
+        this(LinkCharsets.DEFAULT_CHARSET);
+    }
+
+    /**
+     * @param charset Charset of the link files (UTF-8 by default)
+     */
+    public TxtLinkReader(Charset charset) {
+        this.charset = charset;
+    }
+
+    @Override
+    public Set<String> fileExtensions() {
+        return Collections.singleton("txt");
+    }
+
+    /**
+     * Plain text whose first line has no comma, i.e. one link per line
+     */
+    @Override
+    public boolean canRead(byte[] head, int length) {
+        return ContentSniffer.isText(head, length) && !ContentSniffer.firstLineContains(head, length, (byte) ',');
+    }
+
     @Override
-    public List<String> readLinks(String filePath) throws IOException {
-        List<String> links = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                links.add(line.trim());
+    public String cacheKey() {
+        return getClass().getName() + ":" + charset.name();
+    }
+
+    @Override
+    public Stream<String> streamLinks(String filePath) throws IOException {
+        if (LinkCharsets.isAsciiCompatible(charset)) {
+            ByteLineReader reader = new ByteLineReader(LinkFiles.openStream(filePath), charset);
+            return LinkStreams.of(new LineIterator(reader), reader);
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(LinkFiles.openStream(filePath), charset));
+        return reader.lines()
+                     .map(String::trim)
+                     .onClose(LinkStreams.closer(reader));
+    }
+
+    /**
+     * Iterates the trimmed lines of a ByteLineReader
+     */
+    private static class LineIterator implements Iterator<String> {
+        private final ByteLineReader reader;
+        private String next;
+
+        LineIterator(ByteLineReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = reader.readLine(true);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
+            String line = next;
+            next = null;
+            return line;
         }
-        return links;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package com.example.app;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Side-by-side comparison of TxtLinkReader and MappedTxtLinkReader on a generated link file.
+ * Usage: TxtReaderComparison [lineCount]
+ */
+public class TxtReaderComparison {
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int lineCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path file = Files.createTempFile("links-", ".txt");
+        try {
+            writeLinks(file, lineCount);
+            System.out.printf("=== %,d links, %,d bytes ===%n", lineCount, Files.size(file));
+
+            long expected = count(new TxtLinkReader(), file);
+            long mapped = count(new MappedTxtLinkReader(), file);
+            if (expected != mapped) {
+                throw new IllegalStateException("Readers disagree: " + expected + " vs " + mapped);
+            }
+
+            measure("TxtLinkReader", new TxtLinkReader(), file);
+            measure("MappedTxtLinkReader", new MappedTxtLinkReader(), file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void writeLinks(Path file, int lineCount) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < lineCount; i++) {
+                writer.write("  https://example-" + (i % 1000) + ".com/path/" + i + "  \n");
+                if (i % 100 == 0) {
+                    writer.write("\n");
+                }
+            }
+        }
+    }
+
+    private static long count(LinkReader reader, Path file) throws IOException {
+        try (Stream<String> links = reader.streamLinks(file.toString())) {
+            return links.filter(link -> !link.isEmpty()).count();
+        }
+    }
+
+    private static void measure(String name, LinkReader reader, Path file) throws IOException {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        // Warm-up round so both readers are measured with compiled code
+        count(reader, file);
+
+        long bestNanos = Long.MAX_VALUE;
+        long allocated = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            count(reader, file);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+            allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        }
+        System.out.printf("%-20s best %8.1f ms, %,15d bytes allocated per read%n",
+                          name, bestNanos / 1_000_000.0, allocated);
+    }
+}
@@ -0,0 +1,322 @@
+package com.example.app;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Off-heap store for very large URL inventories. URL characters live in direct ByteBuffer
+ * chunks outside the Java heap, so tens of millions of URLs add no objects for the garbage
+ * collector to trace; the heap only holds one int reference per URL.
+ * <p>
+ * Each entry is a varint header (length and encoding) followed by the characters: one byte per
+ * character when all of them fit in Latin-1 (always the case for plain URLs), two bytes otherwise.
+ * A reference packs the chunk number into the top 8 bits and the offset into the lower 24 bits,
+ * so chunks are at most 16 MB and the arena holds up to 4 GB.
+ * <p>
+ * URLs are read back as {@link CharSequence} views over the chunk; hashing and comparing work on
+ * the off-heap bytes and only {@code toString()} copies a URL onto the heap.
+ * Adding is not thread-safe; reading a filled arena from several threads is.
+ */
+public class UrlArena implements Iterable<CharSequence> {
+
+    private static final int OFFSET_BITS = 24;
+    private static final int MAX_CHUNK_SIZE = 1 << OFFSET_BITS;
+    private static final int MAX_CHUNKS = 1 << (Integer.SIZE - OFFSET_BITS);
+    private static final int OFFSET_MASK = MAX_CHUNK_SIZE - 1;
+    private static final int MAX_HEADER_SIZE = 5;
+
+    private final int chunkSize;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private ByteBuffer current;
+    private int used = 0;
+    private int[] refs = new int[1024];
+    private int size = 0;
+
+    public UrlArena() {
+        this(MAX_CHUNK_SIZE);
+    }
+
+    /**
+     * @param chunkSize Size of each direct buffer, at most 16 MB
+     */
+    public UrlArena(int chunkSize) {
+        if (chunkSize <= MAX_HEADER_SIZE || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be between " + (MAX_HEADER_SIZE + 1)
+                                               + " and " + MAX_CHUNK_SIZE + ": " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Copies a URL into the arena
+     * @param url URL to store
+     * @return Index of the stored URL
+     */
+    public int add(CharSequence url) {
+        int length = url.length();
+        boolean wide = false;
+        for (int i = 0; i < length; i++) {
+            if (url.charAt(i) > 0xFF) {
+                wide = true;
+                break;
+            }
+        }
+        int dataOffset = reserve(length, wide);
+        if (wide) {
+            for (int i = 0; i < length; i++) {
+                current.putChar(dataOffset + 2 * i, url.charAt(i));
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                current.put(dataOffset + i, (byte) url.charAt(i));
+            }
+        }
+        return size - 1;
+    }
+
+    /**
+     * Copies ASCII or Latin-1 bytes straight into the arena, e.g. from a mapped file
+     * @param source Buffer holding the URL bytes
+     * @param offset Absolute position of the first byte in source
+     * @param length Number of bytes
+     * @return Index of the stored URL
+     */
+    int addLatin1(ByteBuffer source, int offset, int length) {
+        int dataOffset = reserve(length, false);
+        ByteBuffer from = source.duplicate();
+        from.limit(offset + length).position(offset);
+        ByteBuffer to = current.duplicate();
+        to.position(dataOffset);
+        to.put(from);
+        return size - 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index URL index
+     * @return View over the off-heap characters; it stays valid as long as the arena
+     */
+    public CharSequence get(int index) {
+        View view = new View();
+        view.moveTo(index);
+        return view;
+    }
+
+    /**
+     * @return Same value as get(index).toString().hashCode(), computed off-heap
+     */
+    public int hashCode(int index) {
+        View view = new View();
+        view.moveTo(index);
+        return view.hashCode();
+    }
+
+    /**
+     * @return true if the URL at index has exactly the characters of other
+     */
+    public boolean contentEquals(int index, CharSequence other) {
+        View view = new View();
+        view.moveTo(index);
+        return view.contentEquals(other);
+    }
+
+    /**
+     * Compares two stored URLs like String.compareTo
+     */
+    public int compare(int first, int second) {
+        View a = new View();
+        a.moveTo(first);
+        View b = new View();
+        b.moveTo(second);
+        return a.compareTo(b);
+    }
+
+    /**
+     * @return Bytes allocated outside the heap
+     */
+    public long offHeapBytes() {
+        return (long) chunks.size() * chunkSize;
+    }
+
+    /**
+     * Iterates the URLs in insertion order through a single reused view (flyweight): the returned
+     * CharSequence is only valid until the next call to next(). Use get(index) to keep a URL.
+     */
+    @Override
+    public Iterator<CharSequence> iterator() {
+        return new Iterator<CharSequence>() {
+            private final View view = new View();
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public CharSequence next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                view.moveTo(index++);
+                return view;
+            }
+        };
+    }
+
+    /**
+     * Writes the header of a new entry and records its reference
+     * @return Offset of the entry's first character byte in the current chunk
+     */
+    private int reserve(int length, boolean wide) {
+        int dataBytes = wide ? length * 2 : length;
+        long header = ((long) length << 1) | (wide ? 1 : 0);
+        int headerBytes = varintSize(header);
+        if ((long) headerBytes + dataBytes > chunkSize) {
+            throw new IllegalArgumentException("URL does not fit in an arena chunk: " + length + " characters");
+        }
+        if (current == null || used + headerBytes + dataBytes > chunkSize) {
+            if (chunks.size() == MAX_CHUNKS) {
+                throw new IllegalStateException("UrlArena is full");
+            }
+            current = ByteBuffer.allocateDirect(chunkSize);
+            chunks.add(current);
+            used = 0;
+        }
+        if (size == refs.length) {
+            refs = Arrays.copyOf(refs, size * 2);
+        }
+        refs[size++] = ((chunks.size() - 1) << OFFSET_BITS) | used;
+
+        int position = used;
+        while ((header & ~0x7FL) != 0) {
+            current.put(position++, (byte) ((header & 0x7F) | 0x80));
+            header >>>= 7;
+        }
+        current.put(position++, (byte) header);
+        used = position + dataBytes;
+        return position;
+    }
+
+    private static int varintSize(long value) {
+        int bytes = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+
+    /**
+     * CharSequence over one entry (or part of it) in a chunk
+     */
+    private class View implements CharSequence, Comparable<View> {
+        private ByteBuffer chunk;
+        private int dataOffset;
+        private int length;
+        private boolean wide;
+
+        void moveTo(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("URL " + index + " out of " + size);
+            }
+            int ref = refs[index];
+            chunk = chunks.get(ref >>> OFFSET_BITS);
+            int position = ref & OFFSET_MASK;
+            long header = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = chunk.get(position++);
+                header |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            dataOffset = position;
+            length = (int) (header >>> 1);
+            wide = (header & 1) != 0;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of " + length);
+            }
+            return wide ? chunk.getChar(dataOffset + 2 * index) : (char) (chunk.get(dataOffset + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length || start > end) {
+                throw new IndexOutOfBoundsException("Range " + start + ".." + end + " out of " + length);
+            }
+            View sub = new View();
+            sub.chunk = chunk;
+            sub.wide = wide;
+            sub.dataOffset = dataOffset + (wide ? 2 * start : start);
+            sub.length = end - start;
+            return sub;
+        }
+
+        boolean contentEquals(CharSequence other) {
+            if (other.length() != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (charAt(i) != other.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int compareTo(View other) {
+            int common = Math.min(length, other.length);
+            for (int i = 0; i < common; i++) {
+                int diff = charAt(i) - other.charAt(i);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return length - other.length;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof View && contentEquals((View) other);
+        }
+
+        /**
+         * Same hash as the equal String
+         */
+        @Override
+        public int hashCode() {
+            int hash = 0;
+            for (int i = 0; i < length; i++) {
+                hash = 31 * hash + charAt(i);
+            }
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = charAt(i);
+            }
+            return new String(chars);
+        }
+    }
+}
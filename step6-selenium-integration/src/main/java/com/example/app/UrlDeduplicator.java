@@ -0,0 +1,227 @@
+package com.example.app;
+
+import java.util.stream.Stream;
+
+/**
+ * De-duplication stage for merged link sources. URLs are canonicalized (lowercase scheme and
+ * host, default port removed, empty path as "/", trailing slash and fragment dropped) and only a
+ * 64-bit fingerprint of the canonical form is kept, in an open-addressing long set. The set is
+ * kept between a quarter and half full, so that is 16 to 32 bytes per distinct URL instead of a
+ * full String. With 64-bit fingerprints the chance of any two different URLs colliding is about
+ * n^2 / 2^65: roughly 1.1e-5 at 20M URLs.
+ * Not thread-safe.
+ */
+public class UrlDeduplicator {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final StringBuilder canonical = new StringBuilder(128);
+    private long[] slots = new long[INITIAL_CAPACITY];
+    private int size = 0;
+
+    /**
+     * Records a URL
+     * @param url URL as read from a link file
+     * @return true if no equivalent URL was seen before
+     */
+    public boolean add(CharSequence url) {
+        canonical.setLength(0);
+        canonicalize(url, canonical);
+        return addFingerprint(fingerprint(canonical));
+    }
+
+    /**
+     * Filters a link stream down to the first occurrence of every canonical URL
+     * @param links Links in reading order
+     * @return Stream without duplicates, keeping the original spelling of each first occurrence
+     */
+    public Stream<String> distinct(Stream<String> links) {
+        return links.filter(this::add);
+    }
+
+    /**
+     * @return Number of distinct URLs seen so far
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param url URL to normalize
+     * @return Canonical form used for duplicate detection
+     */
+    public static String canonicalize(CharSequence url) {
+        StringBuilder sb = new StringBuilder(url.length());
+        canonicalize(url, sb);
+        return sb.toString();
+    }
+
+    static void canonicalize(CharSequence url, StringBuilder out) {
+        int start = 0;
+        int end = url.length();
+        while (start < end && url.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && url.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int fragment = indexOf(url, '#', start, end);
+        if (fragment >= 0) {
+            end = fragment;
+        }
+
+        int schemeEnd = indexOf(url, ':', start, end);
+        if (schemeEnd < 0 || schemeEnd + 2 >= end
+                || url.charAt(schemeEnd + 1) != '/' || url.charAt(schemeEnd + 2) != '/') {
+            // Not a hierarchical URL: only the fragment is dropped
+            out.append(url, start, end);
+            return;
+        }
+        int schemeStart = out.length();
+        for (int i = start; i < schemeEnd; i++) {
+            out.append(Character.toLowerCase(url.charAt(i)));
+        }
+        String defaultPort = defaultPort(out, schemeStart, out.length());
+        out.append("://");
+
+        int authorityStart = schemeEnd + 3;
+        int authorityEnd = authorityStart;
+        while (authorityEnd < end && url.charAt(authorityEnd) != '/' && url.charAt(authorityEnd) != '?') {
+            authorityEnd++;
+        }
+        appendAuthority(url, authorityStart, authorityEnd, defaultPort, out);
+
+        int queryStart = indexOf(url, '?', authorityEnd, end);
+        int pathEnd = queryStart < 0 ? end : queryStart;
+        if (pathEnd == authorityEnd) {
+            out.append('/');
+        } else if (pathEnd - authorityEnd > 1 && url.charAt(pathEnd - 1) == '/') {
+            out.append(url, authorityEnd, pathEnd - 1);
+        } else {
+            out.append(url, authorityEnd, pathEnd);
+        }
+        if (queryStart >= 0) {
+            out.append(url, queryStart, end);
+        }
+    }
+
+    private static void appendAuthority(CharSequence url, int start, int end, String defaultPort, StringBuilder out) {
+        int hostStart = start;
+        int at = lastIndexOf(url, '@', start, end);
+        if (at >= 0) {
+            out.append(url, start, at + 1);
+            hostStart = at + 1;
+        }
+        int ipv6End = indexOf(url, ']', hostStart, end);
+        int portSeparator = indexOf(url, ':', ipv6End >= 0 ? ipv6End : hostStart, end);
+        int hostEnd = portSeparator >= 0 ? portSeparator : end;
+        for (int i = hostStart; i < hostEnd; i++) {
+            out.append(Character.toLowerCase(url.charAt(i)));
+        }
+        if (portSeparator >= 0) {
+            int portStart = portSeparator + 1;
+            if (portStart < end && !(defaultPort != null && regionEquals(url, portStart, end, defaultPort))) {
+                out.append(url, portSeparator, end);
+            }
+        }
+    }
+
+    /**
+     * @return Default port of the lowercase scheme in value[start, end), or null if it has none
+     */
+    private static String defaultPort(CharSequence value, int start, int end) {
+        if (regionEquals(value, start, end, "http")) {
+            return "80";
+        }
+        if (regionEquals(value, start, end, "https")) {
+            return "443";
+        }
+        if (regionEquals(value, start, end, "ftp")) {
+            return "21";
+        }
+        return null;
+    }
+
+    private static boolean regionEquals(CharSequence value, int start, int end, String expected) {
+        if (end - start != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (value.charAt(start + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units, finished with the MurmurHash3 mixer
+     */
+    static long fingerprint(CharSequence value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private boolean addFingerprint(long fingerprint) {
+        if (fingerprint == 0) {
+            // 0 marks an empty slot
+            fingerprint = 1;
+        }
+        int mask = slots.length - 1;
+        int index = (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+        while (slots[index] != 0) {
+            if (slots[index] == fingerprint) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        slots[index] = fingerprint;
+        size++;
+        if (size * 2 > slots.length) {
+            resize();
+        }
+        return true;
+    }
+
+    private void resize() {
+        long[] old = slots;
+        slots = new long[old.length * 2];
+        int mask = slots.length - 1;
+        for (long fingerprint : old) {
+            if (fingerprint != 0) {
+                int index = (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+                while (slots[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                slots[index] = fingerprint;
+            }
+        }
+    }
+
+    private static int indexOf(CharSequence value, char wanted, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (value.charAt(i) == wanted) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(CharSequence value, char wanted, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (value.charAt(i) == wanted) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
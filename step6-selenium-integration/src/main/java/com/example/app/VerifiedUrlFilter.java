@@ -0,0 +1,351 @@
+package com.example.app;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Probabilistic record of URLs that opened successfully in recent runs, so the verification loop
+ * can skip or postpone them. It may report a URL that was not verified (false positive) at the
+ * configured rate, but never misses one that was verified recently enough: with g generations, a
+ * URL is remembered for between (g-1)/g of the window and the whole window, depending on how far
+ * its generation had advanced when it was recorded.
+ * <p>
+ * The window is split into time-bucketed generations, each a Bloom filter of its own. Passes are
+ * recorded in the current generation; a lookup checks every live generation; the oldest generation
+ * is dropped as a whole once it leaves the window, which is how entries expire without counters.
+ * <p>
+ * Each generation is a blocked Bloom filter: all hash bits of a URL fall into one 64-byte block,
+ * so a lookup costs one cache line per generation instead of one per hash function. That raises the
+ * false-positive rate slightly above the textbook estimate returned by {@link #expectedFalsePositiveRate()}.
+ * URLs are hashed in the canonical form of {@link UrlDeduplicator}. Not thread-safe.
+ */
+public class VerifiedUrlFilter {
+
+    private static final int MAGIC = 0x56424C4D; // "VBLM"
+    private static final int VERSION = 1;
+    private static final int BLOCK_LONGS = 8;
+    private static final int BLOCK_BITS = BLOCK_LONGS * Long.SIZE;
+    private static final int MAX_HASHES = 16;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long expectedUrls;
+    private final long generationMillis;
+    private final int generations;
+    private final int blocksPerGeneration;
+    private final int hashes;
+    private final Clock clock;
+
+    private final long[][] bits;
+    private final long[] epochs;
+    private final StringBuilder canonical = new StringBuilder(128);
+
+    private VerifiedUrlFilter(Builder builder) {
+        this.expectedUrls = builder.expectedUrls;
+        this.generations = builder.generations;
+        this.generationMillis = Math.max(1, builder.window.toMillis() / builder.generations);
+        this.clock = builder.clock;
+
+        // A URL is reported if any generation matches, so each one gets a share of the target rate
+        double generationRate = 1 - Math.pow(1 - builder.falsePositiveRate, 1.0 / generations);
+        double optimalBits = -expectedUrls * Math.log(generationRate) / (Math.log(2) * Math.log(2));
+        double maxBits = (double) builder.maxMemoryBytes * Byte.SIZE / generations;
+        if (optimalBits > maxBits) {
+            // A capped filter would skip fresh links as "verified" far more often than asked for
+            long neededBytes = (long) Math.ceil(optimalBits / Byte.SIZE) * generations;
+            throw new IllegalArgumentException("Filter for " + expectedUrls + " URLs at a false-positive rate of "
+                    + builder.falsePositiveRate + " needs " + neededBytes + " bytes, above the limit of "
+                    + builder.maxMemoryBytes + "; raise the memory limit or the false-positive rate");
+        }
+        long blocks = (long) Math.ceil(optimalBits / BLOCK_BITS);
+        if (blocks < 1 || blocks > Integer.MAX_VALUE / BLOCK_LONGS) {
+            throw new IllegalArgumentException("Filter size out of range: " + blocks + " blocks per generation");
+        }
+        this.blocksPerGeneration = (int) blocks;
+        long bitsPerGeneration = blocks * BLOCK_BITS;
+        this.hashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round((double) bitsPerGeneration / expectedUrls * Math.log(2))));
+
+        this.bits = new long[generations][];
+        this.epochs = new long[generations];
+        Arrays.fill(epochs, EMPTY);
+    }
+
+    /**
+     * @param url URL as read from a link file
+     * @return true if the URL was probably recorded as verified within the window, false if it certainly was not
+     */
+    public boolean mightBeVerified(CharSequence url) {
+        long hash = hash(url);
+        long current = currentEpoch();
+        for (int i = 0; i < generations; i++) {
+            if (bits[i] != null && isLive(epochs[i], current) && containsHash(bits[i], hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records a URL that opened successfully
+     * @param url URL as read from a link file
+     */
+    public void markVerified(CharSequence url) {
+        long hash = hash(url);
+        long current = currentEpoch();
+        int slot = (int) Math.floorMod(current, (long) generations);
+        if (epochs[slot] != current || bits[slot] == null) {
+            // The slot still holds a generation that has left the window: reuse its memory
+            if (bits[slot] == null) {
+                bits[slot] = new long[blocksPerGeneration * BLOCK_LONGS];
+            } else {
+                Arrays.fill(bits[slot], 0L);
+            }
+            epochs[slot] = current;
+        }
+        long[] words = bits[slot];
+        int block = block(hash) * BLOCK_LONGS;
+        int bit = (int) hash;
+        int step = step(hash);
+        for (int i = 0; i < hashes; i++) {
+            int b = bit & (BLOCK_BITS - 1);
+            words[block + (b >>> 6)] |= 1L << b;
+            bit += step;
+        }
+    }
+
+    /**
+     * Restores the generations saved by {@link #save(String)}. Generations that have left the window
+     * in the meantime are dropped, and a file written with other sizing parameters is ignored.
+     * @param filePath Path of the filter file
+     * @return true if the file was read, false if it does not exist or does not match this filter
+     * @throws IOException If the file cannot be read or is truncated
+     */
+    public boolean load(String filePath) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(Paths.get(filePath)), 64 * 1024))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION
+                    || in.readLong() != generationMillis || in.readInt() != generations
+                    || in.readInt() != blocksPerGeneration || in.readInt() != hashes) {
+                return false;
+            }
+            long current = currentEpoch();
+            for (int i = 0; i < generations; i++) {
+                long epoch = in.readLong();
+                if (epoch == EMPTY) {
+                    continue;
+                }
+                long[] words = new long[blocksPerGeneration * BLOCK_LONGS];
+                for (int w = 0; w < words.length; w++) {
+                    words[w] = in.readLong();
+                }
+                if (isLive(epoch, current)) {
+                    int slot = (int) Math.floorMod(epoch, (long) generations);
+                    bits[slot] = words;
+                    epochs[slot] = epoch;
+                }
+            }
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the live generations to a file, replacing it atomically
+     * @param filePath Path of the filter file
+     * @throws IOException If the file cannot be written
+     */
+    public void save(String filePath) throws IOException {
+        Path file = Paths.get(filePath).toAbsolutePath();
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), "verified", ".tmp");
+        long current = currentEpoch();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(generationMillis);
+            out.writeInt(generations);
+            out.writeInt(blocksPerGeneration);
+            out.writeInt(hashes);
+            for (int i = 0; i < generations; i++) {
+                if (bits[i] == null || !isLive(epochs[i], current)) {
+                    out.writeLong(EMPTY);
+                    continue;
+                }
+                out.writeLong(epochs[i]);
+                for (long word : bits[i]) {
+                    out.writeLong(word);
+                }
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return Estimated chance that an unverified URL is reported as verified, once every
+     *         generation holds the expected number of URLs
+     */
+    public double expectedFalsePositiveRate() {
+        double bitsPerGeneration = (double) blocksPerGeneration * BLOCK_BITS;
+        double generationRate = Math.pow(1 - Math.exp(-hashes * expectedUrls / bitsPerGeneration), hashes);
+        return 1 - Math.pow(1 - generationRate, generations);
+    }
+
+    /**
+     * @return Heap bytes used by the bit arrays once all generations are in use
+     */
+    public long maxMemoryBytes() {
+        return (long) generations * blocksPerGeneration * BLOCK_LONGS * Long.BYTES;
+    }
+
+    /**
+     * @return Length of the window; a verified URL is remembered for at least (g-1)/g of it
+     */
+    public Duration window() {
+        return Duration.ofMillis(generationMillis * generations);
+    }
+
+    private long currentEpoch() {
+        return Math.floorDiv(clock.millis(), generationMillis);
+    }
+
+    private boolean isLive(long epoch, long current) {
+        return epoch != EMPTY && epoch <= current && epoch > current - generations;
+    }
+
+    private long hash(CharSequence url) {
+        canonical.setLength(0);
+        UrlDeduplicator.canonicalize(url, canonical);
+        return UrlDeduplicator.fingerprint(canonical);
+    }
+
+    private boolean containsHash(long[] words, long hash) {
+        int block = block(hash) * BLOCK_LONGS;
+        int bit = (int) hash;
+        int step = step(hash);
+        for (int i = 0; i < hashes; i++) {
+            int b = bit & (BLOCK_BITS - 1);
+            if ((words[block + (b >>> 6)] & (1L << b)) == 0) {
+                return false;
+            }
+            bit += step;
+        }
+        return true;
+    }
+
+    /**
+     * Maps the upper 32 hash bits onto [0, blocksPerGeneration) without a division
+     */
+    private int block(long hash) {
+        return (int) (((hash >>> 32) * blocksPerGeneration) >>> 32);
+    }
+
+    /**
+     * Odd stride for the in-block bit positions, so the first 512 positions are all distinct
+     */
+    private static int step(long hash) {
+        return (int) ((hash * 0x9E3779B97F4A7C15L) >>> 40) | 1;
+    }
+
+    /**
+     * Static factory method to create a Builder instance.
+     * @return A new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for VerifiedUrlFilter. Defaults: 1M URLs, 1% false positives, a 24 hour window
+     * in 4 generations and at most 64 MB of bit arrays.
+     */
+    public static class Builder {
+        private long expectedUrls = 1_000_000;
+        private double falsePositiveRate = 0.01;
+        private Duration window = Duration.ofHours(24);
+        private int generations = 4;
+        private long maxMemoryBytes = 64L * 1024 * 1024;
+        private Clock clock = Clock.systemUTC();
+
+        /**
+         * @param expectedUrls Number of URLs one generation is sized for, typically the size of the link inventory
+         */
+        public Builder withExpectedUrls(long expectedUrls) {
+            this.expectedUrls = expectedUrls;
+            return this;
+        }
+
+        /**
+         * @param falsePositiveRate Target chance of reporting an unverified URL, across all generations
+         */
+        public Builder withFalsePositiveRate(double falsePositiveRate) {
+            this.falsePositiveRate = falsePositiveRate;
+            return this;
+        }
+
+        /**
+         * @param window How long a verified URL is remembered
+         */
+        public Builder withWindow(Duration window) {
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * @param generations Number of buckets the window is split into; more buckets expire entries
+         *                    more precisely but need more memory for the same false-positive rate
+         */
+        public Builder withGenerations(int generations) {
+            this.generations = generations;
+            return this;
+        }
+
+        /**
+         * @param maxMemoryBytes Upper bound for all bit arrays; build() fails if the target rate needs more
+         */
+        public Builder withMaxMemoryBytes(long maxMemoryBytes) {
+            this.maxMemoryBytes = maxMemoryBytes;
+            return this;
+        }
+
+        Builder withClock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * @return The filter
+         * @throws IllegalArgumentException If a setting is out of range or the filter does not fit the memory limit
+         */
+        public VerifiedUrlFilter build() {
+            if (expectedUrls <= 0) {
+                throw new IllegalArgumentException("Expected URLs must be positive: " + expectedUrls);
+            }
+            if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+                throw new IllegalArgumentException("False-positive rate must be between 0 and 1: " + falsePositiveRate);
+            }
+            if (generations <= 0) {
+                throw new IllegalArgumentException("Generations must be positive: " + generations);
+            }
+            if (window == null || window.toMillis() < generations) {
+                throw new IllegalArgumentException("Window too short: " + window);
+            }
+            if (maxMemoryBytes <= 0) {
+                throw new IllegalArgumentException("Memory limit must be positive: " + maxMemoryBytes);
+            }
+            return new VerifiedUrlFilter(this);
+        }
+    }
+}
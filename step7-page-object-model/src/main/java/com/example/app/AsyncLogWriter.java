@@ -0,0 +1,270 @@
+package com.example.app;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background writer for the asynchronous Logger mode. Logging threads put events into a bounded
+ * ring buffer and return at once; a single writer thread drains the buffer in batches, appends
+ * the events to a LogSink, flushes the sink once per batch and echoes the batch to the console
+ * with one print.
+ * <p>
+ * The ring buffer is a lock-free multi-producer queue: every slot carries a sequence number that
+ * tells producers when the slot is free and the writer when it has been filled.
+ * What happens when the buffer is full is decided by the {@link OverflowPolicy}.
+ */
+public class AsyncLogWriter implements Closeable {
+
+    /**
+     * What append does when the ring buffer is full
+     */
+    public enum OverflowPolicy {
+        /** Wait until the writer has made room: nothing is lost, but callers may be slowed down */
+        BLOCK,
+        /** Discard the event silently */
+        DROP,
+        /** Discard the event and report the number of discarded events in the log */
+        DROP_AND_COUNT
+    }
+
+    private static final int MAX_BATCH = 512;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final LogSink sink;
+    private final OverflowPolicy policy;
+    private final boolean console;
+    private final int capacity;
+    private final int mask;
+
+    // Ring buffer slots
+    private final AtomicLongArray sequences;
+    private final long[] timestamps;
+    private final String[] actions;
+    private final String[] targets;
+    private final String[] descriptions;
+
+    /** Next position producers claim */
+    private final AtomicLong tail = new AtomicLong();
+    /** Next position the writer reads; only the writer thread updates it */
+    private long head = 0;
+    /** Positions below this one are written to the file */
+    private volatile long written = 0;
+
+    private final LongAdder dropped = new LongAdder();
+    private long droppedReported = 0;
+
+    private final Thread writerThread;
+    private volatile boolean writerParked = false;
+    private volatile boolean closed = false;
+
+    // Writer thread state
+    private final LogRecordEncoder consoleBatch = new LogRecordEncoder(16 * 1024, ZoneId.systemDefault());
+    private boolean sinkFailed = false;
+
+    /**
+     * @param sink Where the events are written; closed together with this writer
+     * @param capacity Ring buffer size in events, rounded up to a power of two
+     * @param policy What to do when the buffer is full
+     * @param console Whether to echo events to System.out like the synchronous Logger
+     */
+    public AsyncLogWriter(LogSink sink, int capacity, OverflowPolicy policy, boolean console) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 2 and 2^30: " + capacity);
+        }
+        this.sink = sink;
+        this.policy = policy;
+        this.console = console;
+        this.capacity = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.timestamps = new long[this.capacity];
+        this.actions = new String[this.capacity];
+        this.targets = new String[this.capacity];
+        this.descriptions = new String[this.capacity];
+        this.writerThread = new Thread(this::runWriter, "logger-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues an event. Returns without touching the file; the writer thread formats and writes it.
+     * @param timestampMillis Time of the event
+     * @param action Event type, e.g. ELEMENT_ACTION
+     * @param target Page, element or link the event is about
+     * @param description Free text
+     * @return false if the writer is closed and the event was not taken, true otherwise
+     *         (also when it was dropped because the buffer is full)
+     */
+    public boolean append(long timestampMillis, String action, String target, String description) {
+        long position = tail.get();
+        int index;
+        while (true) {
+            if (closed) {
+                return false;
+            }
+            index = (int) position & mask;
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                // The slot still holds an event from one lap ago: the buffer is full
+                if (policy == OverflowPolicy.DROP) {
+                    return true;
+                }
+                if (policy == OverflowPolicy.DROP_AND_COUNT) {
+                    dropped.increment();
+                    return true;
+                }
+                LockSupport.unpark(writerThread);
+                LockSupport.parkNanos(this, FULL_PARK_NANOS);
+                position = tail.get();
+            } else {
+                // Another producer claimed this position first
+                position = tail.get();
+            }
+        }
+        timestamps[index] = timestampMillis;
+        actions[index] = action;
+        targets[index] = target;
+        descriptions[index] = description;
+        sequences.set(index, position + 1);
+        if (writerParked) {
+            LockSupport.unpark(writerThread);
+        }
+        return true;
+    }
+
+    /**
+     * Waits until every event queued before this call is written to the file
+     */
+    public void flush() {
+        long target = tail.get();
+        while (written < target && writerThread.isAlive()) {
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+        }
+    }
+
+    /**
+     * @return Number of events discarded by DROP_AND_COUNT so far
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Writes the queued events, stops the writer thread and closes the sink. Later appends return false.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        while (true) {
+            int count = drainBatch();
+            if (count > 0) {
+                writeBatch();
+                written = head;
+                continue;
+            }
+            if (closed) {
+                // Producers that claimed a slot before close are still filling it
+                if (head == tail.get()) {
+                    break;
+                }
+                Thread.onSpinWait();
+                continue;
+            }
+            writerParked = true;
+            if (!hasEvent()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            writerParked = false;
+        }
+        try {
+            sink.close();
+        } catch (IOException e) {
+            System.err.println("Could not close log file: " + e.getMessage());
+        }
+    }
+
+    private boolean hasEvent() {
+        return sequences.get((int) head & mask) == head + 1;
+    }
+
+    /**
+     * Moves up to MAX_BATCH published events into the sink and the console batch and frees their slots
+     * @return Number of events taken
+     */
+    private int drainBatch() {
+        int count = 0;
+        while (count < MAX_BATCH && hasEvent()) {
+            int index = (int) head & mask;
+            appendEvent(timestamps[index], actions[index], targets[index], descriptions[index]);
+            actions[index] = null;
+            targets[index] = null;
+            descriptions[index] = null;
+            sequences.set(index, head + capacity);
+            head++;
+            count++;
+        }
+        long droppedNow = dropped.sum();
+        if (droppedNow > droppedReported) {
+            appendEvent(System.currentTimeMillis(), "LOGGER", "",
+                        "Dropped " + (droppedNow - droppedReported) + " log events, buffer full");
+            droppedReported = droppedNow;
+            count++;
+        }
+        return count;
+    }
+
+    private void appendEvent(long timestampMillis, String action, String target, String description) {
+        if (!sinkFailed) {
+            try {
+                sink.append(timestampMillis, action, target, description);
+            } catch (IOException e) {
+                // Skip the rest of the batch; the next batch tries again
+                sinkFailed = true;
+                System.err.println("Could not write to log file: " + e.getMessage());
+            }
+        }
+        if (console) {
+            consoleBatch.encodeConsoleLine(target, description);
+        }
+    }
+
+    private void writeBatch() {
+        try {
+            sink.flush();
+        } catch (IOException e) {
+            if (!sinkFailed) {
+                System.err.println("Could not write to log file: " + e.getMessage());
+            }
+        }
+        sinkFailed = false;
+        if (consoleBatch.size() > 0) {
+            System.out.write(consoleBatch.array(), 0, consoleBatch.size());
+            consoleBatch.reset();
+        }
+    }
+}
@@ -95,6 +95,6 @@ public class BasePage {
      */
     public void verifyPageLoaded() {
         // Default implementation - can be overridden
-        Logger.getInstance().log("Page loaded: " + getPageTitle());
+        Logger.getInstance().log(() -> "Page loaded: " + getPageTitle());
     }
 }
\ No newline at end of file
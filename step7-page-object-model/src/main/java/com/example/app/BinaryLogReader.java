@@ -0,0 +1,323 @@
+package com.example.app;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Reads the binary activity log written by BinaryLogSink.
+ * Filters on action and target are evaluated once per dictionary entry, when its definition is
+ * read, so checking an event is a few integer comparisons; descriptions of events that do not
+ * match are skipped without being decoded.
+ * <p>
+ * A record cut off at the end of the file (the writer died in the middle of a write) ends the
+ * read; {@link #validLength()} then tells where the last complete record ends.
+ */
+public class BinaryLogReader implements Closeable {
+
+    /**
+     * Receives the events that match a filter
+     */
+    public interface EventHandler {
+        void onEvent(long timestampMillis, String action, String target, String description) throws IOException;
+    }
+
+    /**
+     * Event filter; null criteria match everything
+     */
+    public static class Filter {
+        private final String action;
+        private final String targetPart;
+        private final long fromMillis;
+        private final long toMillis;
+
+        /**
+         * @param action Exact action name, e.g. PAGE_TEST, or null
+         * @param targetPart Text the target must contain, or null
+         * @param fromMillis First matching timestamp (inclusive), or Long.MIN_VALUE
+         * @param toMillis End of the time range (exclusive), or Long.MAX_VALUE
+         */
+        public Filter(String action, String targetPart, long fromMillis, long toMillis) {
+            this.action = action;
+            this.targetPart = targetPart;
+            this.fromMillis = fromMillis;
+            this.toMillis = toMillis;
+        }
+
+        /**
+         * @return Filter that matches every event
+         */
+        public static Filter all() {
+            return new Filter(null, null, Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+
+        boolean matchesAction(String name) {
+            return action == null || action.equals(name);
+        }
+
+        boolean matchesTarget(String name) {
+            return targetPart == null || (name != null && name.contains(targetPart));
+        }
+
+        boolean matchesTime(long timestampMillis) {
+            return timestampMillis >= fromMillis && timestampMillis < toMillis;
+        }
+    }
+
+    private final FileChannel channel;
+    private final ByteBuffer in = ByteBuffer.allocate(64 * 1024);
+    /** File offset of in[0] */
+    private long bufferStart;
+
+    // Dictionaries; index 0 stands for "written inline"
+    private final List<String> actions = new ArrayList<>();
+    private final List<String> targets = new ArrayList<>();
+    private final BitSet matchingActions = new BitSet();
+    private final BitSet matchingTargets = new BitSet();
+
+    private long lastTimestamp = 0;
+    private long validLength;
+
+    /**
+     * @param file Binary log file
+     * @throws IOException If the file cannot be opened or does not start with the binary log header
+     */
+    public BinaryLogReader(Path file) throws IOException {
+        this(FileChannel.open(file, StandardOpenOption.READ));
+    }
+
+    /**
+     * Reads from an open channel, starting at offset 0. Closing the reader closes the channel.
+     */
+    BinaryLogReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        actions.add(null);
+        targets.add(null);
+        in.flip();
+        try {
+            for (byte expected : BinaryLogSink.MAGIC) {
+                if (readByte() != expected) {
+                    throw new IOException("Not a binary activity log");
+                }
+            }
+            int version = readByte();
+            if (version != BinaryLogSink.VERSION) {
+                throw new IOException("Unsupported binary log version " + version);
+            }
+        } catch (EOFException e) {
+            throw new IOException("Not a binary activity log: header incomplete");
+        }
+        validLength = offset();
+    }
+
+    /**
+     * Reads the rest of the file, passing matching events to the handler
+     * @param filter Which events to pass on
+     * @param handler Receives matching events; null to only count them
+     * @return Number of matching events
+     * @throws IOException If reading fails or the file is corrupt
+     */
+    public long read(Filter filter, EventHandler handler) throws IOException {
+        long matched = 0;
+        while (true) {
+            long recordStart = offset();
+            try {
+                int tag = readTag();
+                if (tag < 0) {
+                    break;
+                }
+                if (tag == BinaryLogSink.DEFINE_ACTION) {
+                    String name = readDefinition(actions);
+                    matchingActions.set(actions.size(), filter.matchesAction(name));
+                    actions.add(name);
+                } else if (tag == BinaryLogSink.DEFINE_TARGET) {
+                    String name = readDefinition(targets);
+                    matchingTargets.set(targets.size(), filter.matchesTarget(name));
+                    targets.add(name);
+                } else if (tag == BinaryLogSink.EVENT) {
+                    long timestamp = lastTimestamp + zigZagDecode(readVarint());
+                    int actionId = readId(actions, recordStart);
+                    String action = actionId == 0 ? readString() : actions.get(actionId);
+                    int targetId = readId(targets, recordStart);
+                    String target = targetId == 0 ? readString() : targets.get(targetId);
+                    int descriptionLength = readLength();
+                    boolean match = filter.matchesTime(timestamp)
+                            && (actionId == 0 ? filter.matchesAction(action) : matchingActions.get(actionId))
+                            && (targetId == 0 ? filter.matchesTarget(target) : matchingTargets.get(targetId));
+                    if (match && handler != null) {
+                        String description = readString(descriptionLength);
+                        handler.onEvent(timestamp, action, target, description);
+                    } else {
+                        skip(descriptionLength);
+                    }
+                    lastTimestamp = timestamp;
+                    if (match) {
+                        matched++;
+                    }
+                } else {
+                    throw new IOException("Corrupt binary log: unknown record type " + tag + " at offset " + recordStart);
+                }
+            } catch (EOFException e) {
+                // Incomplete last record
+                break;
+            }
+            validLength = offset();
+        }
+        return matched;
+    }
+
+    /**
+     * @return Action names by id, index 0 unused
+     */
+    List<String> actions() {
+        return actions;
+    }
+
+    /**
+     * @return Target names by id, index 0 unused
+     */
+    List<String> targets() {
+        return targets;
+    }
+
+    /**
+     * @return Timestamp of the last event read, the base of the next delta
+     */
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    /**
+     * @return File offset after the last complete record read
+     */
+    long validLength() {
+        return validLength;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads the id and name of a definition record; ids are assigned in sequence from 1
+     */
+    private String readDefinition(List<String> dictionary) throws IOException {
+        long id = readVarint();
+        if (id != dictionary.size()) {
+            throw new IOException("Corrupt binary log: definition " + id + " out of sequence");
+        }
+        return readString();
+    }
+
+    private int readId(List<String> dictionary, long recordStart) throws IOException {
+        long id = readVarint();
+        if (id >= dictionary.size()) {
+            throw new IOException("Corrupt binary log: undefined id " + id + " at offset " + recordStart);
+        }
+        return (int) id;
+    }
+
+    private long offset() {
+        return bufferStart + in.position();
+    }
+
+    /**
+     * @return Next byte, or -1 at the end of the file
+     */
+    private int readTag() throws IOException {
+        if (!in.hasRemaining() && !refill()) {
+            return -1;
+        }
+        return in.get() & 0xFF;
+    }
+
+    private int readByte() throws IOException {
+        if (!in.hasRemaining() && !refill()) {
+            throw new EOFException();
+        }
+        return in.get();
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt binary log: varint too long at offset " + offset());
+    }
+
+    private int readLength() throws IOException {
+        long length = readVarint();
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IOException("Corrupt binary log: string length " + length + " at offset " + offset());
+        }
+        return (int) length;
+    }
+
+    private String readString() throws IOException {
+        return readString(readLength());
+    }
+
+    private String readString(int length) throws IOException {
+        if (length <= in.remaining()) {
+            String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+            return value;
+        }
+        byte[] value = new byte[length];
+        int filled = 0;
+        while (filled < length) {
+            if (!in.hasRemaining() && !refill()) {
+                throw new EOFException();
+            }
+            int n = Math.min(in.remaining(), length - filled);
+            in.get(value, filled, n);
+            filled += n;
+        }
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private void skip(int length) throws IOException {
+        while (length > 0) {
+            if (!in.hasRemaining() && !refill()) {
+                throw new EOFException();
+            }
+            int n = Math.min(in.remaining(), length);
+            in.position(in.position() + n);
+            length -= n;
+        }
+    }
+
+    /**
+     * Loads the next part of the file into the empty buffer
+     * @return false at the end of the file
+     */
+    private boolean refill() throws IOException {
+        bufferStart += in.position();
+        in.clear();
+        while (in.hasRemaining()) {
+            if (channel.read(in, bufferStart + in.position()) < 0) {
+                break;
+            }
+        }
+        in.flip();
+        return in.hasRemaining();
+    }
+
+    private static long zigZagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.app;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sink that writes the activity log in a compact binary format instead of text lines.
+ * <p>
+ * The file starts with the magic bytes "ALOG" and a version byte, followed by records that each
+ * start with a type byte:
+ * <ul>
+ *   <li>DEFINE_ACTION / DEFINE_TARGET: id (varint), name (length-prefixed UTF-8). Ids count up from 1;
+ *       a record defines a name the first time an event uses it</li>
+ *   <li>EVENT: timestamp as the zigzag varint of the difference in milliseconds to the previous
+ *       event, action id, target id, description (length-prefixed UTF-8). Id 0 means the name
+ *       follows inline, used once a dictionary is full</li>
+ * </ul>
+ * Action names and the pages and elements that make up most targets thus cost a byte or two per
+ * event, and the timestamp usually one to three. Records are buffered and written on flush (or
+ * when the buffer fills).
+ * <p>
+ * When the file reaches the rollover size, it is rolled over like the text log (activity.logb.1,
+ * .2, ..., see LogSegments) and a new segment is started with a fresh header, empty dictionaries
+ * and a timestamp base of 0, so every segment can be read on its own. When appending to an
+ * existing file, the dictionaries are rebuilt from it and an incomplete last record is cut off;
+ * since the file is never larger than one segment, this replay is bounded by the rollover size.
+ * Use LogQueryTool to filter the segments and export them as text.
+ */
+public class BinaryLogSink implements LogSink {
+
+    static final byte[] MAGIC = {'A', 'L', 'O', 'G'};
+    static final int VERSION = 1;
+    static final int DEFINE_ACTION = 1;
+    static final int DEFINE_TARGET = 2;
+    static final int EVENT = 3;
+
+    /** keptSegments value that keeps every rolled over segment */
+    public static final int ALL_SEGMENTS = Integer.MAX_VALUE;
+
+    /** Dictionary size limit; the log of a long crawl can have any number of distinct URLs */
+    private static final int MAX_DICTIONARY_SIZE = 1 << 16;
+    private static final int WRITE_THRESHOLD = 64 * 1024;
+
+    private final Path file;
+    private final long rolloverSize;
+    private final int keptSegments;
+    private final LogRecordEncoder buffer = new LogRecordEncoder(2 * WRITE_THRESHOLD, ZoneId.systemDefault());
+    private final Map<String, Integer> actions = new HashMap<>();
+    private final Map<String, Integer> targets = new HashMap<>();
+    private long lastTimestamp;
+    private FileChannel channel;
+    /** Bytes written to the current segment, not counting the buffer */
+    private long written;
+    /** After a failed rollover, the length at which it is tried again */
+    private long rolloverRetryAt = 0;
+    private boolean closed = false;
+
+    /**
+     * Binary log that rolls over at 64 MB and keeps all segments
+     * @param file Binary log file, created if needed
+     * @throws IOException If the file cannot be opened or is not a binary activity log
+     */
+    public BinaryLogSink(Path file) throws IOException {
+        this(file, 64L * 1024 * 1024, ALL_SEGMENTS);
+    }
+
+    /**
+     * @param file Binary log file, created if needed
+     * @param rolloverSize Segment size after which the file is rolled over
+     * @param keptSegments Number of rolled over segments to keep, {@link #ALL_SEGMENTS} to never delete any
+     * @throws IOException If the file cannot be opened or is not a binary activity log
+     */
+    public BinaryLogSink(Path file, long rolloverSize, int keptSegments) throws IOException {
+        if (rolloverSize < 4096) {
+            throw new IllegalArgumentException("Rollover size must be at least 4 KB: " + rolloverSize);
+        }
+        if (keptSegments < 1) {
+            throw new IllegalArgumentException("At least one rolled over segment must be kept: " + keptSegments);
+        }
+        this.file = file;
+        this.rolloverSize = rolloverSize;
+        this.keptSegments = keptSegments;
+        if (Files.isRegularFile(file) && Files.size(file) >= rolloverSize) {
+            // Left full by the previous run: start a new segment instead of replaying this one
+            LogSegments.rollOver(file, keptSegments);
+        }
+        open();
+    }
+
+    @Override
+    public synchronized void append(long timestampMillis, String action, String target, String description) throws IOException {
+        if (closed) {
+            throw new IOException("Log sink is closed: " + file);
+        }
+        if (channel == null) {
+            open();
+        }
+        long length = written + buffer.size();
+        if (length >= rolloverSize && length >= rolloverRetryAt) {
+            writeBuffer();
+            rollOver();
+        }
+        int actionId = lookup(actions, DEFINE_ACTION, action);
+        int targetId = lookup(targets, DEFINE_TARGET, target);
+        buffer.appendByte(EVENT);
+        long delta = timestampMillis - lastTimestamp;
+        buffer.appendVarint((delta << 1) ^ (delta >> 63));
+        lastTimestamp = timestampMillis;
+        buffer.appendVarint(actionId);
+        if (actionId == 0) {
+            buffer.appendLengthPrefixed(action);
+        }
+        buffer.appendVarint(targetId);
+        if (targetId == 0) {
+            buffer.appendLengthPrefixed(target);
+        }
+        buffer.appendLengthPrefixed(description);
+        if (buffer.size() >= WRITE_THRESHOLD) {
+            writeBuffer();
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        if (channel != null) {
+            writeBuffer();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (channel != null) {
+            try {
+                writeBuffer();
+            } finally {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    /**
+     * @return Dictionary id of the name, defining it if new; 0 if the dictionary is full
+     */
+    private int lookup(Map<String, Integer> dictionary, int defineTag, String name) {
+        Integer id = dictionary.get(name);
+        if (id != null) {
+            return id;
+        }
+        if (dictionary.size() >= MAX_DICTIONARY_SIZE) {
+            return 0;
+        }
+        int newId = dictionary.size() + 1;
+        dictionary.put(name, newId);
+        buffer.appendByte(defineTag);
+        buffer.appendVarint(newId);
+        buffer.appendLengthPrefixed(name);
+        return newId;
+    }
+
+    private void writeBuffer() throws IOException {
+        try {
+            ByteBuffer bytes = buffer.buffer();
+            while (bytes.hasRemaining()) {
+                written += channel.write(bytes);
+            }
+        } catch (IOException e) {
+            // Definitions in the lost part may be missing from the file: start over from what it holds
+            FileChannel failed = channel;
+            channel = null;
+            try {
+                failed.close();
+            } catch (IOException ignored) {
+                // Already failing
+            }
+            throw e;
+        } finally {
+            buffer.reset();
+        }
+    }
+
+    /**
+     * Closes the segment and starts a new one. If the file cannot be renamed, logging continues
+     * in it with the dictionaries it already defines, and the rollover is tried again after
+     * another buffer's worth of records.
+     */
+    private void rollOver() throws IOException {
+        channel.close();
+        channel = null;
+        if (LogSegments.rollOver(file, keptSegments)) {
+            rolloverRetryAt = 0;
+            open();
+        } else {
+            rolloverRetryAt = written + WRITE_THRESHOLD;
+            FileChannel reopened = FileChannel.open(file, StandardOpenOption.WRITE);
+            reopened.position(written);
+            channel = reopened;
+        }
+    }
+
+    /**
+     * Opens the file and positions at the end of its last complete record, with the dictionaries
+     * and timestamp base the file defines
+     */
+    private void open() throws IOException {
+        FileChannel opened = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                              StandardOpenOption.WRITE);
+        try {
+            actions.clear();
+            targets.clear();
+            lastTimestamp = 0;
+            buffer.reset();
+            if (opened.size() <= MAGIC.length) {
+                // New file, or one that died before its header was written
+                opened.truncate(0);
+                written = 0;
+                for (byte b : MAGIC) {
+                    buffer.appendByte(b);
+                }
+                buffer.appendByte(VERSION);
+                opened.position(0);
+            } else {
+                // The reader closes the channel it reads from, so recover through a second one
+                long length;
+                try (BinaryLogReader reader = new BinaryLogReader(FileChannel.open(file, StandardOpenOption.READ))) {
+                    reader.read(BinaryLogReader.Filter.all(), null);
+                    fill(actions, reader.actions());
+                    fill(targets, reader.targets());
+                    lastTimestamp = reader.lastTimestamp();
+                    length = reader.validLength();
+                }
+                if (length < opened.size()) {
+                    opened.truncate(length);
+                }
+                opened.position(length);
+                written = length;
+            }
+        } catch (IOException e) {
+            opened.close();
+            throw e;
+        }
+        channel = opened;
+    }
+
+    private static void fill(Map<String, Integer> dictionary, List<String> names) {
+        for (int id = 1; id < names.size(); id++) {
+            dictionary.put(names.get(id), id);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.app;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Text sink that appends encoded records to a file through a FileChannel kept open in append mode.
+ * Events are encoded into a per-thread buffer and written with one write per flush; with
+ * O_APPEND, the batches of different threads do not interleave. After a failed write the
+ * channel is reopened on the next flush.
+ */
+public class ChannelLogSink implements LogSink {
+
+    private final Path file;
+    private final ThreadLocal<LogRecordEncoder> encoders = ThreadLocal.withInitial(LogRecordEncoder::new);
+    private FileChannel channel;
+
+    /**
+     * @param file Log file, created if needed
+     */
+    public ChannelLogSink(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public void append(long timestampMillis, String action, String target, String description) {
+        encoders.get().encodeRecord(timestampMillis, action, target, description);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        LogRecordEncoder encoder = encoders.get();
+        if (encoder.size() == 0) {
+            return;
+        }
+        try {
+            FileChannel out = openChannel();
+            ByteBuffer bytes = encoder.buffer();
+            while (bytes.hasRemaining()) {
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        } finally {
+            encoder.reset();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            FileChannel closing = channel;
+            channel = null;
+            closing.close();
+        }
+    }
+
+    private synchronized FileChannel openChannel() throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+}
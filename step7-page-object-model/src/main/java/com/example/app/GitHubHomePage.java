@@ -44,10 +44,10 @@ public class GitHubHomePage extends BasePage {
         try {
             wait.until(ExpectedConditions.visibilityOf(mainHeading));
             String headingText = mainHeading.getText();
-            Logger.getInstance().logElementInteraction("Main Heading", "Retrieved text: " + headingText);
+            Logger.getInstance().logElementInteraction("Main Heading", "Retrieved text: {}", headingText);
             return headingText;
         } catch (Exception e) {
-            Logger.getInstance().logElementInteraction("Main Heading", "Failed to retrieve text: " + e.getMessage());
+            Logger.getInstance().logElementInteraction(Logger.Level.WARN, "Main Heading", "Failed to retrieve text: {}", e.getMessage());
             return "";
         }
     }
@@ -59,7 +59,7 @@ public class GitHubHomePage extends BasePage {
     public boolean isSignUpButtonVisible() {
         boolean isVisible = isElementDisplayed(signUpButton);
         Logger.getInstance().logElementInteraction("Sign Up Button", 
-                                                  "Visibility check: " + (isVisible ? "Visible" : "Not visible"));
+                                                  "Visibility check: {}", isVisible ? "Visible" : "Not visible");
         return isVisible;
     }
     
@@ -70,7 +70,7 @@ public class GitHubHomePage extends BasePage {
     public boolean isSignInButtonVisible() {
         boolean isVisible = isElementDisplayed(signInButton);
         Logger.getInstance().logElementInteraction("Sign In Button", 
-                                                  "Visibility check: " + (isVisible ? "Visible" : "Not visible"));
+                                                  "Visibility check: {}", isVisible ? "Visible" : "Not visible");
         return isVisible;
     }
     
@@ -81,7 +81,7 @@ public class GitHubHomePage extends BasePage {
     public boolean isGitHubLogoDisplayed() {
         boolean isDisplayed = isElementDisplayed(githubLogo);
         Logger.getInstance().logElementInteraction("GitHub Logo", 
-                                                  "Display check: " + (isDisplayed ? "Displayed" : "Not displayed"));
+                                                  "Display check: {}", isDisplayed ? "Displayed" : "Not displayed");
         return isDisplayed;
     }
     
@@ -92,7 +92,7 @@ public class GitHubHomePage extends BasePage {
     public boolean isMainContentPresent() {
         boolean isPresent = isElementDisplayed(mainContent);
         Logger.getInstance().logElementInteraction("Main Content", 
-                                                  "Presence check: " + (isPresent ? "Present" : "Not present"));
+                                                  "Presence check: {}", isPresent ? "Present" : "Not present");
         return isPresent;
     }
     
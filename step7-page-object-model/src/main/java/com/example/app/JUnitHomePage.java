@@ -41,10 +41,10 @@ public class JUnitHomePage extends BasePage {
         try {
             wait.until(ExpectedConditions.visibilityOf(mainTitle));
             String titleText = mainTitle.getText();
-            Logger.getInstance().logElementInteraction("Main Title", "Retrieved text: " + titleText);
+            Logger.getInstance().logElementInteraction("Main Title", "Retrieved text: {}", titleText);
             return titleText;
         } catch (Exception e) {
-            Logger.getInstance().logElementInteraction("Main Title", "Failed to retrieve text: " + e.getMessage());
+            Logger.getInstance().logElementInteraction(Logger.Level.WARN, "Main Title", "Failed to retrieve text: {}", e.getMessage());
             return "";
         }
     }
@@ -56,7 +56,7 @@ public class JUnitHomePage extends BasePage {
     public boolean isGuideLinkVisible() {
         boolean isVisible = isElementDisplayed(guideLink);
         Logger.getInstance().logElementInteraction("Guide Link", 
-                                                  "Visibility check: " + (isVisible ? "Visible" : "Not visible"));
+                                                  "Visibility check: {}", isVisible ? "Visible" : "Not visible");
         return isVisible;
     }
     
@@ -67,7 +67,7 @@ public class JUnitHomePage extends BasePage {
     public boolean isJUnitLogoDisplayed() {
         boolean isDisplayed = isElementDisplayed(junitLogo);
         Logger.getInstance().logElementInteraction("JUnit Logo", 
-                                                  "Display check: " + (isDisplayed ? "Displayed" : "Not displayed"));
+                                                  "Display check: {}", isDisplayed ? "Displayed" : "Not displayed");
         return isDisplayed;
     }
     
@@ -0,0 +1,162 @@
+package com.example.app;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.util.List;
+
+/**
+ * Command line tool that filters the binary activity log and prints the matching events in the
+ * text format of activity.log. The rolled over segments (activity.logb.N ... activity.logb.1) are
+ * read before the live file, so events come out in the order they were logged. Segments carry no
+ * time range of their own, so --from and --to still scan every segment.
+ * <p>
+ * Usage: {@code LogQueryTool [options]}
+ * <ul>
+ *   <li>{@code --file <path>} - live binary log, whose segments are read too
+ *       (default java_project/data/activity.logb)</li>
+ *   <li>{@code --action <name>} - only this action, e.g. LINK_FAILED</li>
+ *   <li>{@code --target <text>} - only targets containing the text</li>
+ *   <li>{@code --from <time>} / {@code --to <time>} - time range, "yyyy-MM-dd[ HH:mm[:ss]]" in the
+ *       local time zone; --from is inclusive, --to exclusive</li>
+ *   <li>{@code --output <path>} - write to a file instead of the console</li>
+ *   <li>{@code --count} - only print the number of matching events</li>
+ * </ul>
+ */
+public class LogQueryTool {
+
+    private static final DateTimeFormatter TIME = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd[['T'][' ']HH:mm[:ss]]")
+            .parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
+            .parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0)
+            .parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0)
+            .toFormatter();
+
+    public static void main(String[] args) {
+        String file = "java_project/data/activity.logb";
+        String action = null;
+        String target = null;
+        long from = Long.MIN_VALUE;
+        long to = Long.MAX_VALUE;
+        String output = null;
+        boolean countOnly = false;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--file":
+                        file = value(args, ++i);
+                        break;
+                    case "--action":
+                        action = value(args, ++i);
+                        break;
+                    case "--target":
+                        target = value(args, ++i);
+                        break;
+                    case "--from":
+                        from = parseTime(value(args, ++i));
+                        break;
+                    case "--to":
+                        to = parseTime(value(args, ++i));
+                        break;
+                    case "--output":
+                        output = value(args, ++i);
+                        break;
+                    case "--count":
+                        countOnly = true;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: LogQueryTool [--file path] [--action name] [--target text] "
+                               + "[--from time] [--to time] [--output path] [--count]");
+            System.exit(2);
+        }
+
+        BinaryLogReader.Filter filter = new BinaryLogReader.Filter(action, target, from, to);
+        long start = System.nanoTime();
+        try {
+            List<Path> segments = LogSegments.existing(Paths.get(file));
+            if (segments.isEmpty()) {
+                throw new NoSuchFileException(file);
+            }
+            long matched;
+            if (countOnly) {
+                matched = read(segments, filter, null);
+                System.out.println(matched);
+            } else if (output != null) {
+                try (OutputStream out = Files.newOutputStream(Paths.get(output))) {
+                    matched = export(segments, filter, out);
+                }
+            } else {
+                matched = export(segments, filter, System.out);
+                System.out.flush();
+            }
+            System.err.printf("%,d events matched in %d ms%n", matched, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            System.err.println("Could not read " + file + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads the segments one after the other; each starts with its own header and dictionaries
+     * @return Number of matching events
+     */
+    static long read(List<Path> segments, BinaryLogReader.Filter filter, BinaryLogReader.EventHandler handler)
+            throws IOException {
+        long matched = 0;
+        for (Path segment : segments) {
+            try (BinaryLogReader reader = new BinaryLogReader(segment)) {
+                matched += reader.read(filter, handler);
+            } catch (IOException e) {
+                throw new IOException(segment + ": " + e.getMessage(), e);
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Writes the matching events as "timestamp | action | target | description" lines
+     * @return Number of events written
+     */
+    static long export(List<Path> segments, BinaryLogReader.Filter filter, OutputStream out) throws IOException {
+        LogRecordEncoder encoder = new LogRecordEncoder(64 * 1024, ZoneId.systemDefault());
+        long matched = read(segments, filter, (timestampMillis, action, target, description) -> {
+            encoder.encodeRecord(timestampMillis, action, target, description);
+            if (encoder.size() >= 60 * 1024) {
+                out.write(encoder.array(), 0, encoder.size());
+                encoder.reset();
+            }
+        });
+        out.write(encoder.array(), 0, encoder.size());
+        return matched;
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static long parseTime(String text) {
+        try {
+            return LocalDateTime.parse(text, TIME).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid time '" + text + "', expected yyyy-MM-dd[ HH:mm[:ss]]");
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.app;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+
+/**
+ * Encodes log records straight into a reused byte buffer, without building Strings.
+ * Characters are written as UTF-8 one by one, and the "yyyy-MM-dd HH:mm:ss" timestamp comes from a
+ * cached second: its 19 bytes are only recomputed when the second changes, with plain arithmetic
+ * and the zone offset that stays valid until the next daylight saving transition.
+ * After the buffer has grown to the largest record, encoding allocates nothing.
+ * BinaryLogSink uses the same buffer with the varint and length-prefixed String primitives.
+ * <p>
+ * An encoder is not thread-safe; {@link #forCurrentThread()} hands every thread its own.
+ */
+final class LogRecordEncoder {
+
+    private static final ThreadLocal<LogRecordEncoder> PER_THREAD = ThreadLocal.withInitial(LogRecordEncoder::new);
+
+    private static final byte[] SEPARATOR = " | ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CONSOLE_PREFIX = "Logged: ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CONSOLE_TARGET = " for ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final int SECONDS_PER_DAY = 86400;
+
+    private byte[] bytes;
+    private ByteBuffer view;
+    private int size = 0;
+
+    // Second-resolution clock
+    private final ZoneRules zoneRules;
+    private final byte[] timestamp = new byte[19];
+    private long cachedSecond = Long.MIN_VALUE;
+    private long offsetSeconds;
+    private long offsetValidFrom = Long.MAX_VALUE;
+    private long offsetValidUntil = Long.MIN_VALUE;
+
+    LogRecordEncoder() {
+        this(1024, ZoneId.systemDefault());
+    }
+
+    /**
+     * @param initialCapacity Initial buffer size in bytes
+     * @param zone Time zone of the timestamps
+     */
+    LogRecordEncoder(int initialCapacity, ZoneId zone) {
+        this.bytes = new byte[initialCapacity];
+        this.view = ByteBuffer.wrap(bytes);
+        this.zoneRules = zone.getRules();
+    }
+
+    /**
+     * @return Encoder owned by the calling thread
+     */
+    static LogRecordEncoder forCurrentThread() {
+        return PER_THREAD.get();
+    }
+
+    /**
+     * Appends "timestamp | action | target | description" and a newline, the activity.log line format
+     */
+    void encodeRecord(long timestampMillis, String action, String target, String description) {
+        appendTimestamp(timestampMillis);
+        append(SEPARATOR);
+        append(action);
+        append(SEPARATOR);
+        append(target);
+        append(SEPARATOR);
+        append(description);
+        appendByte('\n');
+    }
+
+    /**
+     * Appends the console echo of a record: "Logged: description for target"
+     */
+    void encodeConsoleLine(String target, String description) {
+        append(CONSOLE_PREFIX);
+        append(description);
+        if (target == null || !target.isEmpty()) {
+            append(CONSOLE_TARGET);
+            append(target);
+        }
+        append(LINE_SEPARATOR);
+    }
+
+    /**
+     * Appends the 19 bytes of "yyyy-MM-dd HH:mm:ss" in the encoder's time zone
+     */
+    void appendTimestamp(long timestampMillis) {
+        long second = Math.floorDiv(timestampMillis, 1000);
+        if (second != cachedSecond) {
+            formatSecond(second);
+        }
+        append(timestamp);
+    }
+
+    /**
+     * Appends an unsigned LEB128 varint: 7 bits per byte, low bits first, high bit set on every byte but the last
+     */
+    void appendVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+
+    /**
+     * Appends the UTF-8 length of a String as a varint, then its UTF-8 bytes
+     */
+    void appendLengthPrefixed(String value) {
+        appendVarint(utf8Length(value));
+        append(value);
+    }
+
+    /**
+     * Discards the encoded bytes, keeping the buffer
+     */
+    void reset() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return Backing array; the encoded bytes are [0, size())
+     */
+    byte[] array() {
+        return bytes;
+    }
+
+    /**
+     * @return Reused buffer over the encoded bytes, positioned at 0 with the limit at size()
+     */
+    ByteBuffer buffer() {
+        view.clear().limit(size);
+        return view;
+    }
+
+    private void append(byte[] source) {
+        ensureCapacity(source.length);
+        System.arraycopy(source, 0, bytes, size, source.length);
+        size += source.length;
+    }
+
+    void appendByte(int b) {
+        ensureCapacity(1);
+        bytes[size++] = (byte) b;
+    }
+
+    /**
+     * Appends a String as UTF-8 ("null" for null, like string concatenation)
+     */
+    private void append(String value) {
+        if (value == null) {
+            append(NULL);
+            return;
+        }
+        int length = value.length();
+        // At most 3 bytes per UTF-16 unit
+        ensureCapacity(length * 3);
+        byte[] out = bytes;
+        int position = size;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out[position++] = (byte) c;
+            } else if (c < 0x800) {
+                out[position++] = (byte) (0xC0 | (c >> 6));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out[position++] = (byte) (0xF0 | (codePoint >> 18));
+                out[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                out[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate: same replacement as String.getBytes
+                out[position++] = '?';
+            } else {
+                out[position++] = (byte) (0xE0 | (c >> 12));
+                out[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        size = position;
+    }
+
+    /**
+     * @return Number of bytes append(String) writes for the value
+     */
+    static int utf8Length(String value) {
+        if (value == null) {
+            return NULL.length;
+        }
+        int length = value.length();
+        int total = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                total += 1;
+            } else if (c < 0x800) {
+                total += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                total += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                total += 1;
+            } else {
+                total += 3;
+            }
+        }
+        return total;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            view = ByteBuffer.wrap(bytes);
+        }
+    }
+
+    /**
+     * Fills the timestamp bytes for an epoch second
+     */
+    private void formatSecond(long second) {
+        if (second < offsetValidFrom || second >= offsetValidUntil) {
+            // Only at startup and around daylight saving transitions
+            Instant instant = Instant.ofEpochSecond(second);
+            offsetSeconds = zoneRules.getOffset(instant).getTotalSeconds();
+            ZoneOffsetTransition previous = zoneRules.previousTransition(instant);
+            ZoneOffsetTransition next = zoneRules.nextTransition(instant);
+            offsetValidFrom = previous == null ? Long.MIN_VALUE : previous.toEpochSecond();
+            offsetValidUntil = next == null ? Long.MAX_VALUE : next.toEpochSecond();
+        }
+        cachedSecond = second;
+
+        long local = second + offsetSeconds;
+        long days = Math.floorDiv(local, SECONDS_PER_DAY);
+        int secondOfDay = Math.floorMod(local, SECONDS_PER_DAY);
+
+        // Civil date from days since 1970-01-01 (proleptic Gregorian calendar)
+        long shifted = days + 719468;
+        long era = Math.floorDiv(shifted, 146097);
+        long dayOfEra = shifted - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthIndex = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * monthIndex + 2) / 5 + 1);
+        int month = (int) (monthIndex < 10 ? monthIndex + 3 : monthIndex - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        writeDigits(timestamp, 0, (int) year, 4);
+        timestamp[4] = '-';
+        writeDigits(timestamp, 5, month, 2);
+        timestamp[7] = '-';
+        writeDigits(timestamp, 8, day, 2);
+        timestamp[10] = ' ';
+        writeDigits(timestamp, 11, secondOfDay / 3600, 2);
+        timestamp[13] = ':';
+        writeDigits(timestamp, 14, secondOfDay / 60 % 60, 2);
+        timestamp[16] = ':';
+        writeDigits(timestamp, 17, secondOfDay % 60, 2);
+    }
+
+    private static void writeDigits(byte[] target, int offset, int value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            target[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
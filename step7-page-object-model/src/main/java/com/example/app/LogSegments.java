@@ -0,0 +1,109 @@
+package com.example.app;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Naming and rotation of rolled over log segments: the live file {@code activity.log} is renamed
+ * to {@code activity.log.1}, older segments move to .2, .3, ... and the oldest beyond the kept
+ * count is deleted.
+ */
+final class LogSegments {
+
+    private LogSegments() {
+    }
+
+    /**
+     * @return Path of the rolled over segment with this index, 1 being the most recent
+     */
+    static Path segment(Path file, int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    /**
+     * Rolls the closed live file over. It is renamed to {@code <file>.rolling} first and the older
+     * segments are only shifted once that succeeded, so a failed rename (some platforms refuse to
+     * rename a file that is still open or mapped) leaves all segments as they were.
+     * A {@code .rolling} file left by a rollover that was interrupted after the rename (a crash, or
+     * a segment that could not be shifted) is moved into place first.
+     * @param file Live log file, closed by the caller
+     * @param keptSegments Number of rolled over segments to keep
+     * @return false if the live file could not be renamed; nothing has changed then
+     */
+    static boolean rollOver(Path file, int keptSegments) {
+        Path rolling = rolling(file);
+        if (Files.exists(rolling)) {
+            try {
+                shiftIn(file, rolling, keptSegments);
+            } catch (IOException e) {
+                System.err.println("Could not finish the interrupted log rollover, continuing in the log file: " + e);
+                return false;
+            }
+        }
+        try {
+            // No REPLACE_EXISTING: a leftover that could not be moved into place is never overwritten
+            Files.move(file, rolling);
+        } catch (IOException e) {
+            System.err.println("Could not roll over log file, continuing in it: " + e);
+            return false;
+        }
+        try {
+            shiftIn(file, rolling, keptSegments);
+        } catch (IOException e) {
+            // The live file is out of the way: the next rollover finishes this one
+            System.err.println("Could not shift rolled over log segments, " + rolling + " is kept: " + e);
+        }
+        return true;
+    }
+
+    /**
+     * Moves the existing segments up by one, deleting those beyond the kept count, and the
+     * rolling file to segment 1
+     */
+    private static void shiftIn(Path file, Path rolling, int keptSegments) throws IOException {
+        int highest = 0;
+        while (Files.exists(segment(file, highest + 1))) {
+            highest++;
+        }
+        for (int i = highest; i >= keptSegments; i--) {
+            Files.deleteIfExists(segment(file, i));
+        }
+        for (int i = Math.min(highest, keptSegments - 1); i >= 1; i--) {
+            Files.move(segment(file, i), segment(file, i + 1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.move(rolling, segment(file, 1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static Path rolling(Path file) {
+        return file.resolveSibling(file.getFileName() + ".rolling");
+    }
+
+    /**
+     * Lists the existing segments of a log from oldest to newest: the rolled over ones, a
+     * {@code .rolling} leftover of an interrupted rollover, and the live file
+     * @param file Live log file
+     * @return Existing segment files in write order
+     */
+    static List<Path> existing(Path file) {
+        List<Path> segments = new ArrayList<>();
+        int highest = 0;
+        while (Files.exists(segment(file, highest + 1))) {
+            highest++;
+        }
+        for (int i = highest; i >= 1; i--) {
+            segments.add(segment(file, i));
+        }
+        Path rolling = rolling(file);
+        if (Files.exists(rolling)) {
+            segments.add(rolling);
+        }
+        if (Files.exists(file)) {
+            segments.add(file);
+        }
+        return segments;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.app;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Destination of Logger events. The Logger calls {@link #append} for every event and
+ * {@link #flush()} at the end of each batch (after every event in synchronous mode), so a sink
+ * may buffer appended events until the next flush.
+ * Sinks must accept calls from several threads in synchronous mode.
+ */
+public interface LogSink extends Closeable {
+
+    /**
+     * @param timestampMillis Time of the event
+     * @param action Event type, e.g. ELEMENT_ACTION
+     * @param target Page, element or link the event is about
+     * @param description Free text
+     * @throws IOException If the event cannot be stored
+     */
+    void append(long timestampMillis, String action, String target, String description) throws IOException;
+
+    /**
+     * Hands the events appended by the calling thread to the file
+     * @throws IOException If writing fails
+     */
+    void flush() throws IOException;
+}
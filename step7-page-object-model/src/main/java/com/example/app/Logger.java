@@ -1,61 +1,335 @@
 package com.example.app;
 
-import java.io.FileWriter;
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
+/**
+ * Singleton activity logger.
+ * By default every event is written to the log file and the console before the call returns.
+ * Records are encoded into a per-thread byte buffer (see LogRecordEncoder) and handed to a LogSink,
+ * so logging allocates nothing once warmed up. {@code logger.sink} selects the sink:
+ * <ul>
+ *   <li>{@code channel} (default) - appends each record to the file with one write</li>
+ *   <li>{@code mmap} - copies records into a memory-mapped region of the file, see MappedLogSink;
+ *       tuned with {@code logger.mmap.regionSize} (default 4 MB), {@code logger.rolloverSize}
+ *       (default 64 MB) and {@code logger.keptSegments} (default 5)</li>
+ * </ul>
+ * With {@code -Dlogger.format=binary}, events go to activity.logb in the compact format of
+ * BinaryLogSink instead, to be read with LogQueryTool; it rolls over at the same
+ * {@code logger.rolloverSize}, but keeps every segment unless {@code logger.keptSegments} is set,
+ * since the binary log is meant to be queried across months of runs.
+ * Start the JVM with {@code -Dlogger.mode=async} to hand events to a background writer instead:
+ * <ul>
+ *   <li>{@code logger.bufferSize} - events the ring buffer holds (default 8192)</li>
+ *   <li>{@code logger.overflow} - BLOCK, DROP or DROP_AND_COUNT when the buffer is full (default BLOCK)</li>
+ *   <li>{@code logger.console} - false to stop echoing events to the console (default true)</li>
+ * </ul>
+ * Every event has a {@link Level}; it is written only if the level reaches the threshold of its
+ * action, set with {@code -Dlogger.level.<ACTION>=WARN} (e.g. logger.level.ELEMENT_ACTION) or at
+ * runtime with {@link #setLevel(String, Level)}, and otherwise with {@code logger.level} (default INFO).
+ * The Supplier and "{}" pattern overloads only build their message when the event is enabled.
+ */
 public class Logger {
-    private static Logger instance = null;
     
-    private String logFile = "java_project/data/activity.log";
+    /**
+     * Event severity, in increasing order; OFF is only used as a threshold
+     */
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR, OFF
+    }
+    
+    /**
+     * Creates the logger on first use; class initialization makes racing first calls share one
+     * instance, and with it one sink, writer thread and shutdown hook
+     */
+    private static class Holder {
+        static final Logger INSTANCE = new Logger();
+    }
+    
+    private final Map<String, Level> thresholds = new ConcurrentHashMap<>();
+    private volatile Level defaultThreshold = parseLevel("logger.level", System.getProperty("logger.level", "INFO"));
+    private final boolean binary = "binary".equalsIgnoreCase(System.getProperty("logger.format", "text"));
+    private String logFile = binary ? "java_project/data/activity.logb" : "java_project/data/activity.log";
+    private final boolean console = !"false".equalsIgnoreCase(System.getProperty("logger.console", "true"));
+    private final LogSink sink;
+    private final AsyncLogWriter asyncWriter;
     
     private Logger() {
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("logger.level.")) {
+                thresholds.put(name.substring("logger.level.".length()),
+                               parseLevel(name, System.getProperty(name)));
+            }
+        }
+        sink = createSink(Paths.get(logFile), binary);
+        if ("async".equalsIgnoreCase(System.getProperty("logger.mode", "sync"))) {
+            asyncWriter = new AsyncLogWriter(sink,
+                    Integer.getInteger("logger.bufferSize", 8192),
+                    parseOverflowPolicy(System.getProperty("logger.overflow", "BLOCK")),
+                    console);
+            // Write out what is still queued when the application exits
+            Runtime.getRuntime().addShutdownHook(new Thread(asyncWriter::close, "logger-shutdown"));
+        } else {
+            asyncWriter = null;
+            Runtime.getRuntime().addShutdownHook(new Thread(this::closeSink, "logger-shutdown"));
+        }
         // Enhanced for Page Object Model integration
-        writeToFile("SYSTEM", "Logger started", "Page Object Model testing framework beginning");
+        log(Level.INFO, "SYSTEM", "Logger started", "Page Object Model testing framework beginning");
     }
     
     public static Logger getInstance() {
-        if (instance == null) {
-            instance = new Logger();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
     
     // General logging method for flexible usage
     public void log(String message) {
-        writeToFile("INFO", "", message);
+        log(Level.INFO, "INFO", "", message);
+    }
+    
+    /**
+     * @param message Called only if INFO messages are enabled
+     */
+    public void log(Supplier<String> message) {
+        log(Level.INFO, "INFO", "", message);
     }
     
     // Existing methods for compatibility
     public void logLinkOpened(String link) {
-        writeToFile("LINK_OPENED", link, "Successfully opened in browser");
+        log(Level.INFO, "LINK_OPENED", link, "Successfully opened in browser");
     }
     
     public void logLinkFailed(String link) {
-        writeToFile("LINK_FAILED", link, "Failed to open in browser");
+        log(Level.WARN, "LINK_FAILED", link, "Failed to open in browser");
     }
     
     // NEW: Page Object Model specific logging methods
     public void logPageTest(String pageName, String testResult) {
-        writeToFile("PAGE_TEST", pageName, testResult);
+        log(Level.INFO, "PAGE_TEST", pageName, testResult);
     }
     
     public void logElementInteraction(String elementName, String action) {
-        writeToFile("ELEMENT_ACTION", elementName, action);
+        log(Level.INFO, "ELEMENT_ACTION", elementName, action);
+    }
+    
+    /**
+     * @param elementName Element the action was performed on
+     * @param pattern Description with a "{}" placeholder, filled only if ELEMENT_ACTION events are enabled
+     * @param arg Value for the placeholder
+     */
+    public void logElementInteraction(String elementName, String pattern, Object arg) {
+        logElementInteraction(Level.INFO, elementName, pattern, arg);
+    }
+    
+    /**
+     * @param level Severity, e.g. WARN for failed interactions
+     * @param elementName Element the action was performed on
+     * @param pattern Description with a "{}" placeholder, filled only if the event is enabled
+     * @param arg Value for the placeholder
+     */
+    public void logElementInteraction(Level level, String elementName, String pattern, Object arg) {
+        log(level, "ELEMENT_ACTION", elementName, pattern, arg);
+    }
+    
+    /**
+     * @param elementName Element the action was performed on
+     * @param action Called only if ELEMENT_ACTION events are enabled
+     */
+    public void logElementInteraction(String elementName, Supplier<String> action) {
+        log(Level.INFO, "ELEMENT_ACTION", elementName, action);
+    }
+    
+    /**
+     * Logs an event if its level reaches the threshold of its action
+     * @param level Severity of the event
+     * @param action Event type, e.g. ELEMENT_ACTION
+     * @param target Page, element or link the event is about
+     * @param description Free text
+     */
+    public void log(Level level, String action, String target, String description) {
+        if (isEnabled(action, level)) {
+            writeToFile(action, target, description);
+        }
+    }
+    
+    /**
+     * @param description Called only if the event is enabled
+     */
+    public void log(Level level, String action, String target, Supplier<String> description) {
+        if (isEnabled(action, level)) {
+            writeToFile(action, target, description.get());
+        }
+    }
+    
+    /**
+     * @param pattern Description with a "{}" placeholder, filled only if the event is enabled
+     * @param arg Value for the placeholder
+     */
+    public void log(Level level, String action, String target, String pattern, Object arg) {
+        if (isEnabled(action, level)) {
+            writeToFile(action, target, format(pattern, 1, arg, null));
+        }
+    }
+    
+    /**
+     * @param pattern Description with two "{}" placeholders, filled only if the event is enabled
+     * @param arg1 Value for the first placeholder
+     * @param arg2 Value for the second placeholder
+     */
+    public void log(Level level, String action, String target, String pattern, Object arg1, Object arg2) {
+        if (isEnabled(action, level)) {
+            writeToFile(action, target, format(pattern, 2, arg1, arg2));
+        }
+    }
+    
+    /**
+     * @param action Event type, e.g. ELEMENT_ACTION
+     * @param level Severity to check
+     * @return Whether events of this action and level are written
+     */
+    public boolean isEnabled(String action, Level level) {
+        Level threshold = action == null ? null : thresholds.get(action);
+        return level.compareTo(threshold != null ? threshold : defaultThreshold) >= 0 && level != Level.OFF;
+    }
+    
+    /**
+     * Sets the threshold of one action, e.g. setLevel("ELEMENT_ACTION", Level.WARN)
+     * @param action Event type
+     * @param threshold Lowest level written, OFF for none; null to use the default threshold again
+     */
+    public void setLevel(String action, Level threshold) {
+        if (threshold == null) {
+            thresholds.remove(action);
+        } else {
+            thresholds.put(action, threshold);
+        }
+    }
+    
+    /**
+     * @param threshold Lowest level written for actions without their own threshold
+     */
+    public void setLevel(Level threshold) {
+        defaultThreshold = threshold;
+    }
+    
+    /**
+     * Waits until all events logged so far are in the log file (only needed in async mode)
+     */
+    public void flush() {
+        if (asyncWriter != null) {
+            asyncWriter.flush();
+        }
+    }
+    
+    /**
+     * @return Events discarded because the async buffer was full (DROP_AND_COUNT policy)
+     */
+    public long getDroppedCount() {
+        return asyncWriter == null ? 0 : asyncWriter.getDroppedCount();
     }
     
     private void writeToFile(String action, String target, String description) {
-        try (FileWriter writer = new FileWriter(logFile, true)) {
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-            String logEntry = timestamp + " | " + action + " | " + target + " | " + description + "\n";
-            writer.write(logEntry);
-            System.out.println("Logged: " + description + (target.isEmpty() ? "" : " for " + target));
+        long timestampMillis = System.currentTimeMillis();
+        if (asyncWriter != null && asyncWriter.append(timestampMillis, action, target, description)) {
+            return;
+        }
+        try {
+            sink.append(timestampMillis, action, target, description);
+            sink.flush();
+            if (console) {
+                LogRecordEncoder encoder = LogRecordEncoder.forCurrentThread();
+                encoder.reset();
+                encoder.encodeConsoleLine(target, description);
+                System.out.write(encoder.array(), 0, encoder.size());
+            }
         } catch (IOException e) {
             System.err.println("Could not write to log file: " + e.getMessage());
         }
     }
     
+    /**
+     * Replaces the first {@code count} "{}" placeholders of the pattern with the arguments
+     */
+    static String format(String pattern, int count, Object arg1, Object arg2) {
+        StringBuilder message = new StringBuilder(pattern.length() + 32);
+        int start = 0;
+        for (int used = 0; used < count; used++) {
+            int placeholder = pattern.indexOf("{}", start);
+            if (placeholder < 0) {
+                break;
+            }
+            message.append(pattern, start, placeholder).append(used == 0 ? arg1 : arg2);
+            start = placeholder + 2;
+        }
+        return message.append(pattern, start, pattern.length()).toString();
+    }
+    
+    /**
+     * @return The level named by a logger.level property, INFO (with a warning) if there is no such level
+     */
+    private static Level parseLevel(String property, String value) {
+        try {
+            return Level.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown level '" + value + "' for " + property + ", using INFO");
+            return Level.INFO;
+        }
+    }
+    
+    /**
+     * @return The policy named by logger.overflow, BLOCK (with a warning) if there is no such policy
+     */
+    private static AsyncLogWriter.OverflowPolicy parseOverflowPolicy(String value) {
+        try {
+            return AsyncLogWriter.OverflowPolicy.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown logger.overflow '" + value + "', using BLOCK");
+            return AsyncLogWriter.OverflowPolicy.BLOCK;
+        }
+    }
+    
+    /**
+     * Creates the binary sink or the text sink named by {@code logger.sink}, falling back to plain
+     * text appends if the file cannot be opened or mapped
+     */
+    private static LogSink createSink(Path file, boolean binary) {
+        if (binary) {
+            try {
+                return new BinaryLogSink(file,
+                        Long.getLong("logger.rolloverSize", 64L * 1024 * 1024),
+                        Integer.getInteger("logger.keptSegments", BinaryLogSink.ALL_SEGMENTS));
+            } catch (IOException e) {
+                System.err.println("Could not open binary log, using text: " + e.getMessage());
+                return new ChannelLogSink(file.resolveSibling("activity.log"));
+            }
+        }
+        String kind = System.getProperty("logger.sink", "channel");
+        if ("mmap".equalsIgnoreCase(kind)) {
+            try {
+                return new MappedLogSink(file,
+                        Long.getLong("logger.mmap.regionSize", 4L * 1024 * 1024),
+                        Long.getLong("logger.rolloverSize", 64L * 1024 * 1024),
+                        Integer.getInteger("logger.keptSegments", 5));
+            } catch (IOException e) {
+                System.err.println("Could not map log file, using plain appends: " + e.getMessage());
+            }
+        } else if (!"channel".equalsIgnoreCase(kind)) {
+            System.err.println("Unknown logger.sink '" + kind + "', using channel");
+        }
+        return new ChannelLogSink(file);
+    }
+    
+    private void closeSink() {
+        try {
+            sink.close();
+        } catch (IOException e) {
+            System.err.println("Could not close log file: " + e.getMessage());
+        }
+    }
+    
     public void showLogLocation() {
         System.out.println("\n--- Logger Information (Singleton) ---");
         System.out.println("Log file location: " + logFile);
@@ -0,0 +1,134 @@
+package com.example.app;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Measures the heap bytes allocated per log event on the logging thread, comparing the old
+ * String-based formatting with the LogRecordEncoder paths used by Logger.
+ * Events are written to a temporary file, never to java_project/data/activity.log.
+ * <p>
+ * Usage: {@code LoggerAllocationBenchmark [events]} (default 1,000,000 per path)
+ */
+public class LoggerAllocationBenchmark {
+
+    private static final String[] ELEMENTS = {"Main Heading", "Sign Up Button", "Sign In Button", "GitHub Logo"};
+    private static final String[] ACTIONS = {"Retrieved text: Let's build from here", "Visibility check: true",
+                                             "Visibility check: false", "Clicked"};
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * One logging path under test
+     */
+    private interface LogPath {
+        void log(int i) throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path file = Files.createTempFile("logger-benchmark", ".log");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            System.out.printf("=== %,d events per path ===%n", events);
+
+            measure("String formatting (previous Logger)", events, i -> {
+                String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+                String logEntry = timestamp + " | " + "ELEMENT_ACTION" + " | " + element(i) + " | " + action(i) + "\n";
+                String consoleLine = "Logged: " + action(i) + " for " + element(i);
+                channel.write(ByteBuffer.wrap(logEntry.getBytes(StandardCharsets.UTF_8)));
+                if (consoleLine.isEmpty()) {
+                    throw new IllegalStateException();
+                }
+            });
+
+            measure("LogRecordEncoder, encode only", events, i -> {
+                LogRecordEncoder encoder = LogRecordEncoder.forCurrentThread();
+                encoder.reset();
+                encoder.encodeRecord(System.currentTimeMillis(), "ELEMENT_ACTION", element(i), action(i));
+                encoder.encodeConsoleLine(element(i), action(i));
+            });
+
+        }
+
+        Path channelFile = Files.createTempFile("logger-benchmark-channel", ".log");
+        try (ChannelLogSink sink = new ChannelLogSink(channelFile)) {
+            measure("ChannelLogSink (sync Logger)", events, i -> {
+                sink.append(System.currentTimeMillis(), "ELEMENT_ACTION", element(i), action(i));
+                sink.flush();
+            });
+        }
+
+        Path mappedFile = Files.createTempFile("logger-benchmark-mmap", ".log");
+        try (MappedLogSink sink = new MappedLogSink(mappedFile, 4L * 1024 * 1024, 64L * 1024 * 1024, 2)) {
+            measure("MappedLogSink (sync Logger, logger.sink=mmap)", events, i ->
+                    sink.append(System.currentTimeMillis(), "ELEMENT_ACTION", element(i), action(i)));
+        }
+
+        Path binaryFile = Files.createTempFile("logger-benchmark-binary", ".logb");
+        Files.delete(binaryFile);
+        try (BinaryLogSink sink = new BinaryLogSink(binaryFile)) {
+            measure("BinaryLogSink (logger.format=binary)", events, i -> {
+                sink.append(System.currentTimeMillis(), "ELEMENT_ACTION", element(i), action(i));
+                sink.flush();
+            });
+        }
+
+        Path asyncFile = Files.createTempFile("logger-benchmark-async", ".log");
+        AsyncLogWriter writer = new AsyncLogWriter(new ChannelLogSink(asyncFile), 8192,
+                                                   AsyncLogWriter.OverflowPolicy.BLOCK, false);
+        try {
+            measure("AsyncLogWriter.append (async Logger)", events, i ->
+                    writer.append(System.currentTimeMillis(), "ELEMENT_ACTION", element(i), action(i)));
+            writer.flush();
+        } finally {
+            writer.close();
+            for (Path used : new Path[] {file, channelFile, mappedFile, binaryFile, asyncFile}) {
+                deleteWithSegments(used);
+            }
+        }
+    }
+
+    private static void deleteWithSegments(Path file) throws IOException {
+        Files.deleteIfExists(file);
+        for (int i = 1; i <= 2; i++) {
+            Files.deleteIfExists(file.resolveSibling(file.getFileName() + "." + i));
+        }
+    }
+
+    /**
+     * Runs a warm-up pass so buffers reach their final size and the JIT has compiled the path,
+     * then counts the bytes the current thread allocates over the measured pass
+     */
+    private static void measure(String name, int events, LogPath path) throws IOException {
+        for (int i = 0; i < Math.min(events, 200_000); i++) {
+            path.log(i);
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = THREADS.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            path.log(i);
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - before;
+        System.out.printf("%-46s %8.1f bytes/event %8.0f ns/event%n",
+                          name, (double) allocated / events, (double) nanos / events);
+    }
+
+    private static String element(int i) {
+        return ELEMENTS[i & 3];
+    }
+
+    private static String action(int i) {
+        return ACTIONS[(i >> 2) & 3];
+    }
+}
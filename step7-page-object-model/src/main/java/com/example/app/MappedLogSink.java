@@ -0,0 +1,241 @@
+package com.example.app;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Text sink that writes records into a memory-mapped region of the log file, so appending an event
+ * is a memory copy instead of a system call. The file is grown one region at a time; the part of
+ * the current region not written yet holds NUL bytes until the sink is closed, when the file is
+ * truncated to the bytes actually written.
+ * <p>
+ * When a segment reaches the rollover size, it is closed and renamed to {@code activity.log.1}
+ * (older segments move to .2, .3, ... and the oldest beyond the kept count is deleted), and a new
+ * segment is started. The live file is renamed to {@code activity.log.rolling} first and the older
+ * segments are only shifted once that succeeded; if it fails (some platforms refuse to rename a
+ * file that is still mapped), logging continues in the current segment and the rollover is tried
+ * again one region later, without touching the kept segments.
+ * If the process dies before close, the NUL tail stays in the file; the next sink opened on it
+ * finds the end of the last record by scanning back past the NUL bytes and continues from there.
+ * <p>
+ * Replaced regions are unmapped right away where the JDK allows it (sun.misc.Unsafe.invokeCleaner);
+ * elsewhere the garbage collector releases them.
+ */
+public class MappedLogSink implements LogSink {
+
+    /** Granularity of the backwards scan for the end of the written data */
+    private static final int SCAN_CHUNK = 64 * 1024;
+
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Not available: mappings are released by the garbage collector
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private final Path file;
+    private final long regionSize;
+    private final long rolloverSize;
+    private final int keptSegments;
+    private final ThreadLocal<LogRecordEncoder> encoders = ThreadLocal.withInitial(LogRecordEncoder::new);
+
+    private FileChannel channel;
+    private MappedByteBuffer region;
+    /** File offset of the start of the mapped region */
+    private long regionStart;
+    /** Bytes written to the current segment */
+    private long length;
+    /** After a failed rollover, the length at which it is tried again */
+    private long rolloverRetryAt = 0;
+    private boolean closed = false;
+
+    /**
+     * @param file Log file, created if needed
+     * @param regionSize Bytes mapped (and preallocated) at a time
+     * @param rolloverSize Segment size after which the file is rolled over
+     * @param keptSegments Number of rolled over segments to keep
+     * @throws IOException If the file cannot be opened or recovered
+     */
+    public MappedLogSink(Path file, long regionSize, long rolloverSize, int keptSegments) throws IOException {
+        if (regionSize < 4096 || regionSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Region size must be between 4 KB and 2 GB: " + regionSize);
+        }
+        if (rolloverSize < regionSize) {
+            throw new IllegalArgumentException("Rollover size must not be below the region size: " + rolloverSize);
+        }
+        if (keptSegments < 1) {
+            throw new IllegalArgumentException("At least one rolled over segment must be kept: " + keptSegments);
+        }
+        this.file = file;
+        this.regionSize = regionSize;
+        this.rolloverSize = rolloverSize;
+        this.keptSegments = keptSegments;
+        openSegment();
+    }
+
+    @Override
+    public void append(long timestampMillis, String action, String target, String description) throws IOException {
+        LogRecordEncoder encoder = encoders.get();
+        encoder.reset();
+        encoder.encodeRecord(timestampMillis, action, target, description);
+        write(encoder.array(), encoder.size());
+    }
+
+    /**
+     * Nothing to do: appended records are already in the mapped pages, which the operating system
+     * writes back to the file even if the JVM exits abruptly
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Writes the mapped pages to disk and truncates the file to the written length
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        closeSegment();
+    }
+
+    /**
+     * @return Bytes written to the current segment
+     */
+    public synchronized long length() {
+        return length;
+    }
+
+    private synchronized void write(byte[] bytes, int size) throws IOException {
+        if (closed) {
+            throw new IOException("Log sink is closed: " + file);
+        }
+        if (channel == null) {
+            openSegment();
+        }
+        if (length > 0 && length + size > rolloverSize && length + size > rolloverRetryAt) {
+            rollOver();
+        }
+        if (region == null || length + size > regionStart + region.capacity()) {
+            mapRegion(size);
+        }
+        region.put(bytes, 0, size);
+        length += size;
+    }
+
+    /**
+     * Maps the next region, starting at the current end of the data and large enough for the
+     * record that did not fit into the previous one
+     */
+    private void mapRegion(int recordSize) throws IOException {
+        unmap();
+        regionStart = length;
+        region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, Math.max(regionSize, recordSize));
+    }
+
+    private void rollOver() throws IOException {
+        closeSegment();
+        try {
+            // On failure nothing has been shifted: continue in the current segment
+            rolloverRetryAt = LogSegments.rollOver(file, keptSegments) ? 0 : length + regionSize;
+        } finally {
+            openSegment();
+        }
+    }
+
+    private void openSegment() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            length = recoverLength();
+            if (length < channel.size()) {
+                channel.truncate(length);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        region = null;
+    }
+
+    /**
+     * Finds the end of the written data: the byte after the last one that is not NUL
+     */
+    private long recoverLength() throws IOException {
+        long end = channel.size();
+        ByteBuffer chunk = ByteBuffer.allocate(SCAN_CHUNK);
+        while (end > 0) {
+            long start = Math.max(0, end - SCAN_CHUNK);
+            chunk.clear().limit((int) (end - start));
+            while (chunk.hasRemaining()) {
+                if (channel.read(chunk, start + chunk.position()) < 0) {
+                    break;
+                }
+            }
+            for (int i = chunk.position() - 1; i >= 0; i--) {
+                if (chunk.get(i) != 0) {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return 0;
+    }
+
+    private void closeSegment() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            if (region != null) {
+                region.force();
+            }
+            unmap();
+            // Shrinking a file that is still mapped is refused on some platforms; if the region
+            // could not be unmapped, the next open recovers the length anyway
+            try {
+                channel.truncate(length);
+            } catch (IOException e) {
+                System.err.println("Could not truncate log file, it will be recovered on next start: " + e.getMessage());
+            }
+        } finally {
+            FileChannel closing = channel;
+            channel = null;
+            closing.close();
+        }
+    }
+
+    /**
+     * Releases the current region; it must not be used afterwards
+     */
+    private void unmap() {
+        MappedByteBuffer released = region;
+        region = null;
+        if (released != null && INVOKE_CLEANER != null) {
+            try {
+                INVOKE_CLEANER.invoke(UNSAFE, released);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // Left to the garbage collector
+            }
+        }
+    }
+}
@@ -44,10 +44,10 @@ public class MavenHomePage extends BasePage {
         try {
             wait.until(ExpectedConditions.visibilityOf(mainTitle));
             String titleText = mainTitle.getText();
-            Logger.getInstance().logElementInteraction("Main Title", "Retrieved text: " + titleText);
+            Logger.getInstance().logElementInteraction("Main Title", "Retrieved text: {}", titleText);
             return titleText;
         } catch (Exception e) {
-            Logger.getInstance().logElementInteraction("Main Title", "Failed to retrieve text: " + e.getMessage());
+            Logger.getInstance().logElementInteraction(Logger.Level.WARN, "Main Title", "Failed to retrieve text: {}", e.getMessage());
             return "";
         }
     }
@@ -59,7 +59,7 @@ public class MavenHomePage extends BasePage {
     public boolean isDownloadLinkVisible() {
         boolean isVisible = isElementDisplayed(downloadLink);
         Logger.getInstance().logElementInteraction("Download Link", 
-                                                  "Visibility check: " + (isVisible ? "Visible" : "Not visible"));
+                                                  "Visibility check: {}", isVisible ? "Visible" : "Not visible");
         return isVisible;
     }
     
@@ -70,7 +70,7 @@ public class MavenHomePage extends BasePage {
     public boolean isMavenLogoDisplayed() {
         boolean isDisplayed = isElementDisplayed(mavenLogo);
         Logger.getInstance().logElementInteraction("Maven Logo", 
-                                                  "Display check: " + (isDisplayed ? "Displayed" : "Not displayed"));
+                                                  "Display check: {}", isDisplayed ? "Displayed" : "Not displayed");
         return isDisplayed;
     }
     
@@ -81,7 +81,7 @@ public class MavenHomePage extends BasePage {
     public boolean isGuideLinkVisible() {
         boolean isVisible = isElementDisplayed(guideLink);
         Logger.getInstance().logElementInteraction("Guide Link", 
-                                                  "Visibility check: " + (isVisible ? "Visible" : "Not visible"));
+                                                  "Visibility check: {}", isVisible ? "Visible" : "Not visible");
         return isVisible;
     }
     